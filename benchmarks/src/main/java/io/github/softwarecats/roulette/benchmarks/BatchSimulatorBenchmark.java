@@ -0,0 +1,82 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.benchmarks;
+
+import io.github.softwarecats.roulette.*;
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares gathering the statistics of a number of sessions with the BatchSimulator kernel against the Simulator, for
+ * the strategies the kernel supports.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchSimulatorBenchmark {
+
+    @Param({"PASSENGER57", "MARTINGALE", "FIBONACCI", "SEVEN_REDS"})
+    public PlayerType playerType;
+
+    /**
+     * The number of sessions played by one gather() operation.
+     */
+    @Param({"4096"})
+    public int samples;
+
+    private Wheel wheel;
+
+    private Player player;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        wheel = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+
+        Table table = new Table(wheel);
+        player = PlayerFactory.getPlayer(playerType, table, new Random(1));
+        game = new Game(wheel, table);
+    }
+
+    @Benchmark
+    public double simulator() throws InvalidBetException {
+        Simulator gathering = new Simulator(game, player);
+        gathering.samples = samples;
+        gathering.gather();
+        return gathering.meanDuration;
+    }
+
+    @Benchmark
+    public double batch() {
+        BatchSimulator gathering = new BatchSimulator(playerType, wheel);
+        gathering.samples = samples;
+        gathering.gather();
+        return gathering.meanDuration;
+    }
+}
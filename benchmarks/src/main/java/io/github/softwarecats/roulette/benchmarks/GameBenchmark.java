@@ -0,0 +1,105 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.benchmarks;
+
+import io.github.softwarecats.roulette.*;
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single Game cycle for every betting strategy, alone and with several players sharing the table. The player
+ * is given a fresh stake whenever their strategy stops playing, so every operation is a real spin with the strategy’s
+ * bets on the table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private static final int STAKE = 1_000_000;
+
+    @Param
+    public PlayerType playerType;
+
+    /**
+     * The number of players sharing the table in the sharedTable benchmark.
+     */
+    @Param({"7"})
+    public int seats;
+
+    private Player player;
+
+    private Game game;
+
+    private List<Player> players;
+
+    @Setup
+    public void setUp() {
+        Wheel wheel = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+
+        Table table = new Table(wheel);
+        player = PlayerFactory.getPlayer(playerType, table, new Random(1));
+        game = new Game(wheel, table);
+
+        players = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            players.add(PlayerFactory.getPlayer(playerType, table, new Random(i)));
+        }
+    }
+
+    @Benchmark
+    public long cycle() throws InvalidBetException {
+        if (!player.playing()) {
+            player.stake = STAKE;
+            player.roundsToGo = Integer.MAX_VALUE;
+            player.newRound();
+        }
+
+        game.cycle(player);
+        return player.stake;
+    }
+
+    /**
+     * A cycle in which all the players at the table are resolved by one spin.
+     */
+    @Benchmark
+    public long sharedTable() throws InvalidBetException {
+        for (int i = 0; i < players.size(); i++) {
+            Player seated = players.get(i);
+            if (!seated.playing()) {
+                seated.stake = STAKE;
+                seated.roundsToGo = Integer.MAX_VALUE;
+                seated.newRound();
+            }
+        }
+
+        game.cycle(players);
+        return players.get(0).stake;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.benchmarks;
+
+import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.*;
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the overflow-checked long arithmetic of stakes and progressions in Money with the plain int arithmetic it
+ * replaced, which wraps silently. Each operation settles or advances SPINS bets from a fixed random sequence of
+ * wins and losses.
+ * <p>
+ * settlePathInt and settlePathLong take each bet through the whole settle path: placed on a Table, which checks the
+ * limits, takes the amount from the Player’s stake and looks up the odds, then paid out to the Player and cleared.
+ * The long path is the one the simulator uses; the int path is a copy of it as it was before stakes and bets became
+ * longs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final int SPINS = 1024;
+
+    private final int[] amounts = new int[SPINS];
+
+    private final int[] odds = new int[SPINS];
+
+    private final boolean[] wins = new boolean[SPINS];
+
+    private Table table;
+
+    private Player player;
+
+    private Bet[] bets;
+
+    private IntTable intTable;
+
+    private IntPlayer intPlayer;
+
+    private IntBet[] intBets;
+
+    @Setup
+    public void setUp() {
+        Random rng = new Random(1);
+        int[] payouts = {1, 2, 5, 8, 11, 17, 35};
+        for (int i = 0; i < SPINS; i++) {
+            amounts[i] = 1 + rng.nextInt(100);
+            odds[i] = payouts[rng.nextInt(payouts.length)];
+            wins[i] = rng.nextInt(38) < 18;
+        }
+
+        Wheel wheel = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+        List<Outcome> outcomes = List.copyOf(wheel.getAllOutcomes().values());
+
+        table = new Table(wheel, Integer.MAX_VALUE, 1);
+        player = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        intTable = new IntTable(wheel, Integer.MAX_VALUE, 1);
+        intPlayer = new IntPlayer();
+        bets = new Bet[SPINS];
+        intBets = new IntBet[SPINS];
+        for (int i = 0; i < SPINS; i++) {
+            Outcome outcome = outcomes.get(rng.nextInt(outcomes.size()));
+            bets[i] = new Bet(amounts[i], outcome, player);
+            intBets[i] = new IntBet(amounts[i], outcome, intPlayer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public int settleInt() {
+        int stake = 0;
+        for (int i = 0; i < SPINS; i++) {
+            stake += amounts[i] + amounts[i] * odds[i];
+        }
+        return stake;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public long settleLong() {
+        long stake = 0;
+        for (int i = 0; i < SPINS; i++) {
+            stake = Math.addExact(stake, Money.payout(amounts[i], odds[i]));
+        }
+        return stake;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public int settlePathInt() throws InvalidBetException {
+        intPlayer.stake = 1_000_000;
+        for (int i = 0; i < SPINS; i++) {
+            IntBet bet = intBets[i];
+            intTable.placeBet(bet);
+            if (wins[i]) {
+                intPlayer.win(bet);
+            } else {
+                intPlayer.lose(bet);
+            }
+            intTable.clear();
+        }
+        return intPlayer.stake;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public long settlePathLong() throws InvalidBetException {
+        player.stake = 1_000_000;
+        for (int i = 0; i < SPINS; i++) {
+            Bet bet = bets[i];
+            table.placeBet(bet);
+            if (wins[i]) {
+                player.win(bet);
+            } else {
+                player.lose(bet);
+            }
+            table.clear();
+        }
+        return player.stake;
+    }
+
+    /**
+     * A Martingale progression, doubling the bet on every loss and resetting it on every win.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public int progressionInt() {
+        int multiple = 1;
+        int total = 0;
+        for (int i = 0; i < SPINS; i++) {
+            multiple = wins[i] ? 1 : multiple * 2;
+            total += multiple;
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public long progressionLong() {
+        long multiple = 1;
+        long total = 0;
+        for (int i = 0; i < SPINS; i++) {
+            multiple = wins[i] ? 1 : Money.multiply(multiple, 2);
+            total = Money.add(total, multiple);
+        }
+        return total;
+    }
+
+    /**
+     * Bet as it was with int amounts.
+     */
+    private static final class IntBet {
+
+        private final int amountBet;
+
+        private final Outcome outcome;
+
+        private final IntPlayer parent;
+
+        private int outcomeId = -1;
+
+        private int odds = -1;
+
+        private Wheel resolvedWheel;
+
+        private IntBet(int amountBet, Outcome outcome, IntPlayer parent) {
+            this.amountBet = amountBet;
+            this.outcome = outcome;
+            this.parent = parent;
+        }
+
+        private int winAmount() {
+            if (odds >= 0) {
+                return amountBet + amountBet * odds;
+            }
+            return amountBet + outcome.winAmount(amountBet).intValue();
+        }
+    }
+
+    /**
+     * Player as it was with an int stake.
+     */
+    private static final class IntPlayer {
+
+        private int stake;
+
+        private void win(IntBet bet) {
+            stake += bet.winAmount();
+        }
+
+        private void lose(IntBet bet) {
+
+        }
+    }
+
+    /**
+     * Table as it was with int limits and totals, with the same checks and odds lookup as Table.
+     */
+    private static final class IntTable {
+
+        private final Wheel WHEEL;
+
+        private final int LIMIT;
+
+        private final int MINIMUM;
+
+        private final PayoutSchedule PAYOUTS = new PayoutSchedule();
+
+        private final ArrayList<IntBet> BETS = new ArrayList<>(16);
+
+        private IntPlayer[] owners = new IntPlayer[8];
+
+        private int[] ownerTotals = new int[8];
+
+        private int ownerCount;
+
+        private int total;
+
+        private IntTable(Wheel wheel, int limit, int minimum) {
+            this.WHEEL = wheel;
+            this.LIMIT = limit;
+            this.MINIMUM = minimum;
+        }
+
+        private void placeBet(IntBet bet) throws InvalidBetException {
+            int owner = owner(bet.parent);
+            if (bet.amountBet < MINIMUM || ownerTotals[owner] + bet.amountBet > LIMIT) {
+                throw new InvalidBetException();
+            }
+
+            if (bet.parent != null) {
+                if (bet.parent.stake >= bet.amountBet) {
+                    bet.parent.stake -= bet.amountBet;
+                } else {
+                    throw new InvalidBetException();
+                }
+            }
+
+            if (bet.resolvedWheel != WHEEL) {
+                bet.outcomeId = WHEEL.getOutcomeId(bet.outcome);
+                bet.resolvedWheel = WHEEL;
+            }
+            bet.odds = PAYOUTS.getOdds(WHEEL.getLayout(), bet.outcomeId);
+
+            BETS.add(bet);
+            ownerTotals[owner] += bet.amountBet;
+            total += bet.amountBet;
+        }
+
+        private int owner(IntPlayer player) {
+            for (int i = 0; i < ownerCount; i++) {
+                if (owners[i] == player) {
+                    return i;
+                }
+            }
+
+            if (ownerCount == owners.length) {
+                owners = Arrays.copyOf(owners, 2 * ownerCount);
+                ownerTotals = Arrays.copyOf(ownerTotals, 2 * ownerCount);
+            }
+            owners[ownerCount] = player;
+            ownerTotals[ownerCount] = 0;
+            return ownerCount++;
+        }
+
+        private void clear() {
+            BETS.clear();
+            total = 0;
+            Arrays.fill(owners, 0, ownerCount, null);
+            ownerCount = 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.benchmarks;
+
+import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing a number of bets on a Table and clearing it again, as the Game does every cycle.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBenchmark {
+
+    /**
+     * The number of bets placed per operation.
+     */
+    @Param({"1", "8", "64"})
+    public int bets;
+
+    private Table table;
+
+    private Bet[] betsToPlace;
+
+    @Setup
+    public void setUp() {
+        Wheel wheel = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+
+        table = new Table(wheel);
+
+        List<Outcome> outcomes = List.copyOf(wheel.getAllOutcomes().values());
+        betsToPlace = new Bet[bets];
+        for (int i = 0; i < bets; i++) {
+            betsToPlace[i] = new Bet(Game.TABLE_MINIMUM, outcomes.get(i % outcomes.size()));
+        }
+    }
+
+    @Benchmark
+    public int placeBet() throws InvalidBetException {
+        for (Bet bet : betsToPlace) {
+            table.placeBet(bet);
+        }
+        int placed = table.size();
+        table.clear();
+        return placed;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.benchmarks;
+
+import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.Bin;
+import io.github.softwarecats.roulette.BinBuilder;
+import io.github.softwarecats.roulette.Game;
+import io.github.softwarecats.roulette.OutcomeCategory;
+import io.github.softwarecats.roulette.Wheel;
+import io.github.softwarecats.roulette.WheelLayout;
+import io.github.softwarecats.roulette.random.JdkRandomSource;
+import io.github.softwarecats.roulette.random.SplittableRandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spinning the Wheel and looking up its Outcomes by name.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WheelBenchmark {
+
+    private Wheel wheel;
+
+    private String name;
+
+    /**
+     * A wheel on a fast generator, so that spinning one bin at a time and in bulk are compared on equal terms.
+     */
+    private Wheel splittableWheel;
+
+    private final int[] spins = new int[SPINS];
+
+    private static final int SPINS = 1024;
+
+    @Setup
+    public void setUp() {
+        wheel = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+
+        name = Game.BET_NAMES.getString("black");
+        splittableWheel = new Wheel(WheelLayout.AMERICAN, new SplittableRandomSource(1));
+    }
+
+    @Benchmark
+    public Bin next() {
+        return wheel.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public int[] nextBin() {
+        for (int i = 0; i < SPINS; i++) {
+            spins[i] = splittableWheel.nextBin();
+        }
+        return spins;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPINS)
+    public int[] nextBins() {
+        splittableWheel.nextBins(spins);
+        return spins;
+    }
+
+    @Benchmark
+    public List<Outcome> getOutcomes() {
+        return wheel.getOutcomes(name);
+    }
+
+    @Benchmark
+    public Outcome getOutcome() {
+        return wheel.getOutcome(name);
+    }
+
+    @Benchmark
+    public List<Outcome> getOutcomesByCategory() {
+        return wheel.getOutcomes(OutcomeCategory.EVEN_MONEY);
+    }
+
+    /**
+     * Building the bins of a new Wheel, as every replica of a parallel run does.
+     */
+    @Benchmark
+    public Wheel buildBins() {
+        Wheel built = new Wheel(new Random(1));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(built);
+        return built;
+    }
+
+    /**
+     * Creating a Wheel on the prebuilt American layout, which replaces building the bins of every replica.
+     */
+    @Benchmark
+    public Wheel sharedLayout() {
+        return new Wheel(WheelLayout.AMERICAN, new JdkRandomSource(new Random(1)));
+    }
+}
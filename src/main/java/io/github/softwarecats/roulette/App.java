@@ -16,49 +16,77 @@
 
 package io.github.softwarecats.roulette;
 
-import io.github.softwarecats.roulette.player.Player;
-import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.metrics.MetricsReporter;
+import io.github.softwarecats.roulette.metrics.SimulationMetrics;
 import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.Seeds;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
 public class App {
 
     protected static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
-        Wheel wheel = new Wheel();
-        BinBuilder binBuilder = new BinBuilder();
-        binBuilder.buildBins(wheel);
-
-        Table table = new Table(wheel);
-
         System.out.print("Player Type: ");
         String playerType = scanner.nextLine();
-        Player player = PlayerFactory.getPlayer(PlayerType.valueOf(playerType), table);
 
-        Game game = new Game(wheel, table);
-
-        Simulator simulator = new Simulator(game, player);
+        // A run is reproduced by entering the seed of its manifest
+        System.out.print("Seed (blank for a new one): ");
+        String seed = scanner.nextLine().trim();
+        RunConfiguration configuration = new RunConfiguration(PlayerType.valueOf(playerType),
+                seed.isEmpty() ? Seeds.mix64(System.nanoTime()) : Long.parseLong(seed));
 
         System.out.print("Session Duration: ");
-        simulator.sessionDuration = Integer.parseInt(scanner.nextLine());
+        configuration.sessionDuration = Integer.parseInt(scanner.nextLine());
 
         System.out.print("Initial Stake: ");
-        simulator.initialStake = Integer.parseInt(scanner.nextLine());
+        configuration.initialStake = Long.parseLong(scanner.nextLine());
 
         System.out.print("Samples: ");
-        simulator.samples = Integer.parseInt(scanner.nextLine());
+        configuration.samples = Integer.parseInt(scanner.nextLine());
+
+        ParallelSimulator simulator = configuration.createSimulator();
+
+        // Metrics are visible through JMX, and printed to stderr every roulette.metrics seconds if that is set
+        SimulationMetrics metrics = new SimulationMetrics();
+        metrics.register(playerType);
+        simulator.metrics = metrics;
+        MetricsReporter reporter = new MetricsReporter(metrics, System.err, false);
+        int reportPeriod = Integer.getInteger("roulette.metrics", 0);
+        if (reportPeriod > 0) {
+            reporter.start(reportPeriod, TimeUnit.SECONDS);
+        }
 
         try {
             simulator.gather();
         } catch (InvalidBetException e) {
             System.out.println("Player placed invalid bet.");
+            return;
+        } finally {
+            reporter.close();
+            metrics.unregister();
         }
 
         System.out.println("Mean Duration: " + simulator.meanDuration);
         System.out.println("Duration STD: " + simulator.stdDuration);
         System.out.println("Mean Maximum: " + simulator.meanMaximum);
         System.out.println("Maximum STD: " + simulator.stdMaximum);
+
+        // The manifest is also saved to the roulette.manifest file if that is set
+        RunManifest manifest = new RunManifest(configuration, simulator);
+        System.out.println();
+        System.out.print(manifest);
+        String manifestFile = System.getProperty("roulette.manifest");
+        if (manifestFile != null) {
+            try {
+                manifest.write(Paths.get(manifestFile));
+            } catch (IOException e) {
+                System.out.println("Could not write manifest: " + e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,402 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BatchSimulator plays many sessions of a simple betting strategy at once. Instead of a Player object per session, the
+ * state of a batch of sessions is held in primitive arrays: stake, current bet, Fibonacci previous bet, red count,
+ * duration and maximum. Every spin draws one bin per live session and then advances the whole batch in a single loop
+ * without virtual calls, Bets or a Table.
+ * <p>
+ * Only strategies which always bet on black are supported: Passenger57, Martingale, Fibonacci and SevenReds, with the
+ * same base bet and rules as their Player classes, on any layout including la partage. The duration and maximum of
+ * every session are recorded exactly as Simulator records them, so the statistics have the same distribution; the
+ * individual sessions differ, since the bins are drawn from the random source in a different order.
+ * <p>
+ * Stakes and bets are longs, and a progression saturates through Money just as it does in the Player classes, so a
+ * session ends when its bet outgrows a long. There is no table limit: the sessions match those of a Simulator whose
+ * Table has a limit of Long.MAX_VALUE.
+ */
+public class BatchSimulator {
+
+    /**
+     * The duration value to use when initializing a session, as in Simulator.
+     */
+    public int sessionDuration = 250;
+
+    /**
+     * The stake value to use when initializing a session, as in Simulator.
+     */
+    public long initialStake = Game.TABLE_MINIMUM * 100;
+
+    /**
+     * The number of sessions to simulate.
+     */
+    public int samples = 50;
+
+    /**
+     * The number of sessions advanced together. The arrays of a batch should fit comfortably in cache.
+     */
+    public int batchSize = 4096;
+
+    public double meanDuration;
+
+    public double stdDuration;
+
+    public double meanMaximum;
+
+    public double stdMaximum;
+
+    /**
+     * When true, every duration and maximum is also kept in the durations and maxima lists.
+     */
+    public boolean keepRawData = false;
+
+    protected StreamingStatistics durationStatistics = new StreamingStatistics();
+
+    protected StreamingStatistics maximumStatistics = new StreamingStatistics();
+
+    protected IntegerHistogram durationHistogram = new IntegerHistogram();
+
+    protected IntegerHistogram maximumHistogram = new IntegerHistogram();
+
+    protected List<Integer> durations = new ArrayList<>();
+
+    protected List<Long> maxima = new ArrayList<>();
+
+    /**
+     * The strategy played by every session.
+     */
+    protected final PlayerType PLAYER_TYPE;
+
+    /**
+     * The wheel whose random source and bins are used.
+     */
+    protected final Wheel WHEEL;
+
+    /**
+     * The bins black wins in, as a bit mask.
+     */
+    protected final long BLACK_MASK;
+
+    /**
+     * The bins red wins in, as a bit mask.
+     */
+    protected final long RED_MASK;
+
+    /**
+     * The bins in which a losing bet on black gets half its amount back under la partage.
+     */
+    protected final long PARTAGE_MASK;
+
+    private int[] bins;
+
+    /**
+     * The spins drawn for the sessions still playing, in order.
+     */
+    private int[] spins;
+
+    private long[] stake;
+
+    private long[] current;
+
+    private long[] previous;
+
+    private int[] reds;
+
+    private int[] duration;
+
+    private long[] maximum;
+
+    private boolean[] live;
+
+    /**
+     * @param playerType the strategy to simulate
+     * @param wheel      a wheel whose bins have been built; its random source is used for every spin
+     * @throws IllegalArgumentException if the strategy has no batch kernel
+     */
+    public BatchSimulator(PlayerType playerType, Wheel wheel) {
+        switch (playerType) {
+            case PASSENGER57:
+            case MARTINGALE:
+            case FIBONACCI:
+            case SEVEN_REDS:
+                break;
+            default:
+                throw new IllegalArgumentException(playerType + " has no batch kernel");
+        }
+
+        this.PLAYER_TYPE = playerType;
+        this.WHEEL = wheel;
+        this.BLACK_MASK = maskOf(wheel, "black");
+        this.RED_MASK = maskOf(wheel, "red");
+
+        int black = wheel.getOutcomeId(wheel.getOutcome(Game.BET_NAMES.getString("black")));
+        long partage = 0;
+        for (int bin = 0; bin < wheel.size(); bin++) {
+            if (wheel.isLaPartage(black, bin)) {
+                partage |= 1L << bin;
+            }
+        }
+        this.PARTAGE_MASK = partage;
+    }
+
+    private static long maskOf(Wheel wheel, String key) {
+        int id = wheel.getOutcomeId(wheel.getOutcome(Game.BET_NAMES.getString(key)));
+        return wheel.getBinMask(id);
+    }
+
+    /**
+     * Plays the samples in batches of batchSize sessions, recording the sessions in order.
+     */
+    public void gather() {
+        for (int start = 0; start < samples; start += batchSize) {
+            int n = Math.min(batchSize, samples - start);
+            batch(n);
+
+            for (int i = 0; i < n; i++) {
+                long max = duration[i] == 0 ? initialStake : maximum[i];
+                durationStatistics.add(duration[i]);
+                maximumStatistics.add(max);
+                durationHistogram.add(duration[i]);
+                maximumHistogram.add(max);
+                if (keepRawData) {
+                    durations.add(duration[i]);
+                    maxima.add(max);
+                }
+            }
+        }
+
+        meanDuration = durationStatistics.getMean();
+        stdDuration = durationStatistics.getStd();
+        meanMaximum = maximumStatistics.getMean();
+        stdMaximum = maximumStatistics.getStd();
+    }
+
+    /**
+     * Plays n sessions to completion. Afterwards duration[i] and maximum[i] hold the results of session i.
+     *
+     * @param n the number of sessions
+     */
+    protected void batch(int n) {
+        allocate(n);
+        Arrays.fill(stake, 0, n, initialStake);
+        Arrays.fill(current, 0, n, Game.TABLE_MINIMUM);
+        Arrays.fill(previous, 0, n, 0);
+        Arrays.fill(reds, 0, n, 0);
+        Arrays.fill(duration, 0, n, 0);
+        Arrays.fill(maximum, 0, n, Long.MIN_VALUE);
+        Arrays.fill(live, 0, n, true);
+
+        int remaining = n;
+
+        for (int round = 0; round < sessionDuration && remaining > 0; round++) {
+            // Only the sessions still playing draw a spin, all in one bulk call, since spinning dominates the cost
+            WHEEL.nextBins(spins, 0, remaining);
+            for (int i = 0, j = 0; i < n; i++) {
+                if (live[i]) {
+                    bins[i] = spins[j++];
+                }
+            }
+
+            switch (PLAYER_TYPE) {
+                case PASSENGER57:
+                    remaining = passenger57(n);
+                    break;
+                case MARTINGALE:
+                    remaining = martingale(n);
+                    break;
+                case FIBONACCI:
+                    remaining = fibonacci(n);
+                    break;
+                default:
+                    remaining = sevenReds(n);
+                    break;
+            }
+        }
+    }
+
+    private void allocate(int n) {
+        if (stake == null || stake.length < n) {
+            bins = new int[n];
+            spins = new int[n];
+            stake = new long[n];
+            current = new long[n];
+            previous = new long[n];
+            reds = new int[n];
+            duration = new int[n];
+            maximum = new long[n];
+            live = new boolean[n];
+        }
+    }
+
+    /**
+     * @return half the bet if a loss in the bin is under la partage, otherwise nothing
+     */
+    private long refund(int bin, long bet) {
+        return (PARTAGE_MASK >>> bin & 1L) * (bet / 2);
+    }
+
+    /**
+     * Passenger57 always bets the base bet.
+     *
+     * @return the number of sessions still playing
+     */
+    private int passenger57(int n) {
+        long bet = Game.TABLE_MINIMUM;
+        long win = bet * Game.EVEN_MONEY_BET_PAYOUT;
+        int remaining = 0;
+        for (int i = 0; i < n; i++) {
+            if (!live[i]) {
+                continue;
+            }
+            if (!Money.canPlace(bet, stake[i])) {
+                live[i] = false;
+                continue;
+            }
+
+            boolean won = (BLACK_MASK >>> bins[i] & 1L) != 0;
+            stake[i] = Math.addExact(stake[i], won ? win : refund(bins[i], bet) - bet);
+            duration[i]++;
+            maximum[i] = Math.max(maximum[i], stake[i]);
+            remaining++;
+        }
+        return remaining;
+    }
+
+    /**
+     * Martingale doubles the bet after a loss and returns to the base bet after a win.
+     *
+     * @return the number of sessions still playing
+     */
+    private int martingale(int n) {
+        int remaining = 0;
+        for (int i = 0; i < n; i++) {
+            if (!live[i]) {
+                continue;
+            }
+            long bet = current[i];
+            if (!Money.canPlace(bet, stake[i])) {
+                live[i] = false;
+                continue;
+            }
+
+            boolean won = (BLACK_MASK >>> bins[i] & 1L) != 0;
+            stake[i] = Math.addExact(stake[i], won ? bet * Game.EVEN_MONEY_BET_PAYOUT : refund(bins[i], bet) - bet);
+            current[i] = won ? Game.TABLE_MINIMUM : Money.multiply(bet, 2);
+            duration[i]++;
+            maximum[i] = Math.max(maximum[i], stake[i]);
+            remaining++;
+        }
+        return remaining;
+    }
+
+    /**
+     * Fibonacci steps through the Fibonacci sequence after a loss and returns to one after a win.
+     *
+     * @return the number of sessions still playing
+     */
+    private int fibonacci(int n) {
+        int remaining = 0;
+        for (int i = 0; i < n; i++) {
+            if (!live[i]) {
+                continue;
+            }
+            long bet = current[i];
+            if (!Money.canPlace(bet, stake[i])) {
+                live[i] = false;
+                continue;
+            }
+
+            boolean won = (BLACK_MASK >>> bins[i] & 1L) != 0;
+            stake[i] = Math.addExact(stake[i], won ? bet * Game.EVEN_MONEY_BET_PAYOUT : refund(bins[i], bet) - bet);
+            current[i] = won ? 1 : Money.add(bet, previous[i]);
+            previous[i] = won ? 0 : bet;
+            duration[i]++;
+            maximum[i] = Math.max(maximum[i], stake[i]);
+            remaining++;
+        }
+        return remaining;
+    }
+
+    /**
+     * SevenReds plays Martingale on black only after seven reds in a row, but always needs the Martingale bet to
+     * keep playing.
+     *
+     * @return the number of sessions still playing
+     */
+    private int sevenReds(int n) {
+        int remaining = 0;
+        for (int i = 0; i < n; i++) {
+            if (!live[i]) {
+                continue;
+            }
+            long bet = current[i];
+            if (!Money.canPlace(bet, stake[i])) {
+                live[i] = false;
+                continue;
+            }
+
+            int bin = bins[i];
+            if (reds[i] >= 7) {
+                boolean won = (BLACK_MASK >>> bin & 1L) != 0;
+                stake[i] = Math.addExact(stake[i], won ? bet * Game.EVEN_MONEY_BET_PAYOUT : refund(bin, bet) - bet);
+                current[i] = won ? Game.TABLE_MINIMUM : Money.multiply(bet, 2);
+            }
+            reds[i] = (RED_MASK >>> bin & 1L) != 0 ? reds[i] + 1 : 0;
+            duration[i]++;
+            maximum[i] = Math.max(maximum[i], stake[i]);
+            remaining++;
+        }
+        return remaining;
+    }
+
+    /**
+     * @return the running statistics of the session durations
+     */
+    public StreamingStatistics getDurationStatistics() {
+        return durationStatistics;
+    }
+
+    /**
+     * @return the running statistics of the session maxima
+     */
+    public StreamingStatistics getMaximumStatistics() {
+        return maximumStatistics;
+    }
+
+    /**
+     * @return the histogram of the session durations
+     */
+    public IntegerHistogram getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    /**
+     * @return the histogram of the session maxima
+     */
+    public IntegerHistogram getMaximumHistogram() {
+        return maximumHistogram;
+    }
+}
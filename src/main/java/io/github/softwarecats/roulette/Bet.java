@@ -23,13 +23,16 @@ import java.util.Objects;
 
 /**
  * Bet associates an amount with an Outcome and a Player.
+ * <p>
+ * A Player may keep a Bet and place it again in later cycles, updating amountBet as its strategy requires, instead of
+ * creating a new Bet every cycle. Such a Bet should not be held on to once it has been resolved.
  */
 public class Bet {
 
     /**
      * The amount of the bet.
      */
-    public int amountBet;
+    public long amountBet;
 
     /**
      * The Outcome on which the bet is placed.
@@ -41,7 +44,25 @@ public class Bet {
      */
     public Player parent;
 
-    public Bet(int amountBet, Outcome outcome) {
+    /**
+     * The id of the outcome on the wheel of the table this bet was last placed on. It is looked up by the Table the
+     * first time the bet is placed, so a bet that is placed again is resolved without hashing its Outcome.
+     */
+    int outcomeId = -1;
+
+    /**
+     * The wheel and outcome outcomeId was looked up for.
+     */
+    Wheel resolvedWheel;
+    Outcome resolvedOutcome;
+
+    /**
+     * The odds the table this bet was last placed on pays on its outcome, or -1 if the Outcome computes the amount
+     * won itself. It is set each time the bet is placed, since tables sharing a wheel may pay different odds.
+     */
+    int odds = -1;
+
+    public Bet(long amountBet, Outcome outcome) {
         this.amountBet = amountBet;
         this.outcome = outcome;
         this.parent = null;
@@ -53,20 +74,25 @@ public class Bet {
      * @param amountBet the amount of the bet
      * @param outcome   the Outcome we are betting on
      */
-    public Bet(int amountBet, Outcome outcome, Player parent) {
+    public Bet(long amountBet, Outcome outcome, Player parent) {
         this.amountBet = amountBet;
         this.outcome = outcome;
         this.parent = parent;
     }
 
     /**
-     * Uses the Outcome‘s winAmount to compute the amount won, given the amount of this bet. Note that the
-     * amount bet must also be added in. A 1:1 outcome (e.g. a bet on Red) pays the amount bet plus the amount won.
+     * Computes the amount won, given the amount of this bet, from the odds the table pays on the Outcome, or from the
+     * Outcome‘s winAmount if the bet has not been placed on a table. Note that the amount bet must also be added in. A
+     * 1:1 outcome (e.g. a bet on Red) pays the amount bet plus the amount won.
      *
      * @return amount won
+     * @throws ArithmeticException if the amount won does not fit in a long
      */
-    public int winAmount() {
-        return amountBet + outcome.winAmount(amountBet).intValue();
+    public long winAmount() {
+        if (odds >= 0) {
+            return Money.payout(amountBet, odds);
+        }
+        return Math.addExact(amountBet, outcome.winAmount(amountBet).longValue());
     }
 
     /**
@@ -74,7 +100,7 @@ public class Bet {
      *
      * @return amount lost
      */
-    public int loseAmount() {
+    public long loseAmount() {
         return amountBet;
     }
 
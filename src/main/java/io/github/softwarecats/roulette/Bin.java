@@ -20,6 +20,8 @@ import io.github.softwarecats.casino.event.Outcome;
 import io.github.softwarecats.casino.event.RandomEvent;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Predicate;
 
 /**
  * Bin contains a collection of Outcomes which reflect the winning bets that are paid for a particular bin on a Roulette
@@ -30,6 +32,16 @@ import java.util.Collection;
  */
 public class Bin extends RandomEvent {
 
+    /**
+     * The number of this Bin on its wheel, or -1 for a Bin which is not part of a wheel.
+     */
+    protected int number = -1;
+
+    /**
+     * True once the Bin belongs to a frozen WheelLayout, after which no Outcome may be added or removed.
+     */
+    protected boolean frozen = false;
+
     /**
      * Instantiates an empty Bin. Outcomes can be added to it later.
      */
@@ -37,6 +49,16 @@ public class Bin extends RandomEvent {
         super();
     }
 
+    /**
+     * Instantiates an empty Bin with its number on the wheel. Outcomes can be added to it later.
+     *
+     * @param number the number of this Bin on its wheel
+     */
+    public Bin(int number) {
+        super();
+        this.number = number;
+    }
+
     /**
      * Creates an Bin using the super() statement, invoking the TreeSet constructor.
      * It then loads that collection using elements of the given array.
@@ -59,6 +81,13 @@ public class Bin extends RandomEvent {
         super(outcomes);
     }
 
+    /**
+     * @return the number of this Bin on its wheel, or -1 for a Bin which is not part of a wheel
+     */
+    public int getNumber() {
+        return number;
+    }
+
     /**
      * Adds an Outcome to this Bin. This can be used by a builder to construct all of the bets in this Bin.
      * Since this class is really just a facade over the underlying collection object, this method can simply
@@ -66,12 +95,105 @@ public class Bin extends RandomEvent {
      *
      * @param outcome an outcome to add to this Bin
      * @return true if this set did not already contain the specified element
+     * @throws UnsupportedOperationException if the Bin is frozen
      */
     @Override
     public boolean add(Outcome outcome) {
+        checkNotFrozen();
         return super.add(outcome);
     }
 
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public boolean addAll(Collection<? extends Outcome> outcomes) {
+        checkNotFrozen();
+        return super.addAll(outcomes);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public boolean remove(Object outcome) {
+        checkNotFrozen();
+        return super.remove(outcome);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public boolean removeAll(Collection<?> outcomes) {
+        checkNotFrozen();
+        return super.removeAll(outcomes);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public boolean retainAll(Collection<?> outcomes) {
+        checkNotFrozen();
+        return super.retainAll(outcomes);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Outcome> filter) {
+        checkNotFrozen();
+        return super.removeIf(filter);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Bin is frozen
+     */
+    @Override
+    public void clear() {
+        checkNotFrozen();
+        super.clear();
+    }
+
+    /**
+     * The iterator of a frozen Bin cannot remove Outcomes.
+     *
+     * @return an iterator over the Outcomes of this Bin
+     */
+    @Override
+    public Iterator<Outcome> iterator() {
+        Iterator<Outcome> outcomes = super.iterator();
+        if (!frozen) {
+            return outcomes;
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return outcomes.hasNext();
+            }
+
+            @Override
+            public Outcome next() {
+                return outcomes.next();
+            }
+        };
+    }
+
+    /**
+     * Forbids adding or removing any further Outcome in this Bin.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Bin is frozen");
+        }
+    }
+
     /**
      * An easy-to-read representation of the list of Outcomes in this Bin.
      *
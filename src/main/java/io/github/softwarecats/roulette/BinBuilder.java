@@ -21,7 +21,8 @@ import io.github.softwarecats.casino.event.Outcome;
 import java.util.Set;
 
 /**
- * BinBuilder creates the Outcomes for all of the 38 individual Bin on a Roulette wheel.
+ * BinBuilder creates the Outcomes for all of the 38 individual Bin on a Roulette wheel, or the 37 of a wheel without
+ * double zero.
  */
 public class BinBuilder {
 
@@ -34,26 +35,35 @@ public class BinBuilder {
 
     /**
      * Creates the Outcome instances and uses the addOutcome() method to place each Outcome in the
-     * appropriate Bin of wheel.
+     * appropriate Bin of wheel. Every Outcome is registered with the wheel under its name and category.
      *
      * @param wheel the Wheel with Bins that must be populated with Outcomes
      */
     public void buildBins(Wheel wheel) {
+        buildBins(wheel.getLayout());
+    }
+
+    /**
+     * Creates the Outcome instances and places each Outcome in the appropriate Bin of a layout. The five bet and
+     * double zero are only built when the layout has a double zero bin.
+     *
+     * @param wheel the WheelLayout with Bins that must be populated with Outcomes
+     */
+    public void buildBins(WheelLayout wheel) {
         // Five Bets
-        Outcome five = new Outcome(Game.BET_NAMES.getString("five"), Game.FIVE_BET_PAYOUT);
-        wheel.addOutcome(0, five);
-        wheel.addOutcome(1, five);
-        wheel.addOutcome(2, five);
-        wheel.addOutcome(3, five);
-        wheel.addOutcome(37, five);
+        if (wheel.hasDoubleZero()) {
+            add(wheel, OutcomeCategory.FIVE, Game.BET_NAMES.getString("five"), Game.FIVE_BET_PAYOUT, 0, 1, 2, 3, 37);
+        }
 
         // Straight Bets
         for (int i = 1; i < 37; i++) {
-            wheel.addOutcome(i, new Outcome(String.valueOf(i), Game.STRAIGHT_BET_PAYOUT));
+            add(wheel, OutcomeCategory.STRAIGHT, String.valueOf(i), Game.STRAIGHT_BET_PAYOUT, i);
         }
 
-        wheel.addOutcome(0, new Outcome("0", Game.STRAIGHT_BET_PAYOUT));
-        wheel.addOutcome(37, new Outcome("00", Game.STRAIGHT_BET_PAYOUT));
+        add(wheel, OutcomeCategory.STRAIGHT, "0", Game.STRAIGHT_BET_PAYOUT, 0);
+        if (wheel.hasDoubleZero()) {
+            add(wheel, OutcomeCategory.STRAIGHT, "00", Game.STRAIGHT_BET_PAYOUT, 37);
+        }
 
         // Split Bets
 
@@ -61,127 +71,107 @@ public class BinBuilder {
         for (int r = 0; r < 12; r++) {
             // First-Second column numbers
             int n = 3 * r + 1;
-            Outcome split = new Outcome(
+            add(wheel, OutcomeCategory.SPLIT,
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 1),
-                    Game.SPLIT_BET_PAYOUT);
-            wheel.addOutcome(n, split);
-            wheel.addOutcome(n + 1, split);
+                    Game.SPLIT_BET_PAYOUT, n, n + 1);
 
             // Second-Third column numbers
             n = 3 * r + 2;
-            split = new Outcome(
+            add(wheel, OutcomeCategory.SPLIT,
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 1),
-                    Game.SPLIT_BET_PAYOUT);
-            wheel.addOutcome(n, split);
-            wheel.addOutcome(n + 1, split);
+                    Game.SPLIT_BET_PAYOUT, n, n + 1);
         }
 
         // Up-Down
         for (int n = 1; n < 34; n++) {
-            Outcome split = new Outcome(
+            add(wheel, OutcomeCategory.SPLIT,
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 3),
-                    Game.SPLIT_BET_PAYOUT);
-            wheel.addOutcome(n, split);
-            wheel.addOutcome(n + 3, split);
+                    Game.SPLIT_BET_PAYOUT, n, n + 3);
         }
 
         // Street Bets
         for (int r = 0; r < 12; r++) {
             int n = 3 * r + 1;
-            Outcome street = new Outcome(
+            add(wheel, OutcomeCategory.STREET,
                     Game.BET_NAMES.getString("street") + String.format(" %d-%d-%d", n, n + 1, n + 2),
-                    Game.STREET_BET_PAYOUT);
-            wheel.addOutcome(n, street);
-            wheel.addOutcome(n + 1, street);
-            wheel.addOutcome(n + 2, street);
+                    Game.STREET_BET_PAYOUT, n, n + 1, n + 2);
         }
 
         // Corner Bets
         for (int r = 0; r < 11; r++) {
             // Column 1-2 Corner
             int n = 3 * r + 1;
-            Outcome corner = new Outcome(
+            add(wheel, OutcomeCategory.CORNER,
                     Game.BET_NAMES.getString("corner") + String.format(" %d-%d-%d-%d", n, n + 1, n + 3, n + 4),
-                    Game.CORNER_BET_PAYOUT);
-            wheel.addOutcome(n, corner);
-            wheel.addOutcome(n + 1, corner);
-            wheel.addOutcome(n + 3, corner);
-            wheel.addOutcome(n + 4, corner);
+                    Game.CORNER_BET_PAYOUT, n, n + 1, n + 3, n + 4);
 
             // Column 2-3 Corner
             n = 3 * r + 2;
-            corner = new Outcome(
+            add(wheel, OutcomeCategory.CORNER,
                     Game.BET_NAMES.getString("corner") + String.format(" %d-%d-%d-%d", n, n + 1, n + 3, n + 4),
-                    Game.CORNER_BET_PAYOUT);
-            wheel.addOutcome(n, corner);
-            wheel.addOutcome(n + 1, corner);
-            wheel.addOutcome(n + 3, corner);
-            wheel.addOutcome(n + 4, corner);
+                    Game.CORNER_BET_PAYOUT, n, n + 1, n + 3, n + 4);
         }
 
         // Line Bets
         for (int r = 0; r < 11; r++) {
             int n = 3 * r + 1;
-            Outcome line = new Outcome(
+            add(wheel, OutcomeCategory.LINE,
                     Game.BET_NAMES.getString("line") + String.format(" %d-%d-%d-%d-%d-%d", n, n + 1, n + 2, n + 3, n + 4, n + 5),
-                    Game.LINE_BET_PAYOUT);
-            wheel.addOutcome(n, line);
-            wheel.addOutcome(n + 1, line);
-            wheel.addOutcome(n + 2, line);
-            wheel.addOutcome(n + 3, line);
-            wheel.addOutcome(n + 4, line);
-            wheel.addOutcome(n + 5, line);
+                    Game.LINE_BET_PAYOUT, n, n + 1, n + 2, n + 3, n + 4, n + 5);
         }
 
         // Dozen Bets
         for (int d = 0; d < 3; d++) {
-            Outcome dozen = new Outcome(
-                    Game.BET_NAMES.getString("dozen") + String.format(" %d-%d", d + 1, d + 12),
-                    Game.DOZEN_BET_PAYOUT);
+            int[] numbers = new int[12];
             for (int m = 0; m < 12; m++) {
-                wheel.addOutcome(12 * d + m + 1, dozen);
+                numbers[m] = 12 * d + m + 1;
             }
+            add(wheel, OutcomeCategory.DOZEN,
+                    Game.BET_NAMES.getString("dozen") + String.format(" %d-%d", d + 1, d + 12),
+                    Game.DOZEN_BET_PAYOUT, numbers);
         }
 
         // Column Bets
         for (int c = 0; c < 3; c++) {
-            Outcome column = new Outcome(
-                    Game.BET_NAMES.getString("column") + String.format(" %d", c + 1),
-                    Game.COLUMN_BET_PAYOUT);
+            int[] numbers = new int[12];
             for (int r = 0; r < 12; r++) {
-                wheel.addOutcome(3 * r + c + 1, column);
+                numbers[r] = 3 * r + c + 1;
             }
+            add(wheel, OutcomeCategory.COLUMN,
+                    Game.BET_NAMES.getString("column") + String.format(" %d", c + 1),
+                    Game.COLUMN_BET_PAYOUT, numbers);
         }
 
         // Even-Money Bets
+        Set<Integer> reds = Set.of(1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36);
         for (int n = 1; n < 37; n++) {
-            Outcome red = new Outcome(Game.BET_NAMES.getString("red"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome black = new Outcome(Game.BET_NAMES.getString("black"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome even = new Outcome(Game.BET_NAMES.getString("even"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome odd = new Outcome(Game.BET_NAMES.getString("odd"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome high = new Outcome(Game.BET_NAMES.getString("high"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome low = new Outcome(Game.BET_NAMES.getString("low"), Game.EVEN_MONEY_BET_PAYOUT);
-
             // High Low
-            if (n < 19) {
-                wheel.addOutcome(n, low);
-            } else {
-                wheel.addOutcome(n, high);
-            }
+            add(wheel, OutcomeCategory.EVEN_MONEY, Game.BET_NAMES.getString(n < 19 ? "low" : "high"),
+                    Game.EVEN_MONEY_BET_PAYOUT, n);
 
             // Even Odd
-            if (n % 2 == 0) {
-                wheel.addOutcome(n, even);
-            } else {
-                wheel.addOutcome(n, odd);
-            }
+            add(wheel, OutcomeCategory.EVEN_MONEY, Game.BET_NAMES.getString(n % 2 == 0 ? "even" : "odd"),
+                    Game.EVEN_MONEY_BET_PAYOUT, n);
 
             // Red Black
-            if (Set.of(1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36).contains(n)) {
-                wheel.addOutcome(n, red);
-            } else {
-                wheel.addOutcome(n, black);
-            }
+            add(wheel, OutcomeCategory.EVEN_MONEY, Game.BET_NAMES.getString(reds.contains(n) ? "red" : "black"),
+                    Game.EVEN_MONEY_BET_PAYOUT, n);
+        }
+    }
+
+    /**
+     * Creates an Outcome and adds it to each of the given bins, registering it with the wheel.
+     *
+     * @param wheel    the WheelLayout with Bins that must be populated with Outcomes
+     * @param category the kind of bet
+     * @param name     the name of the Outcome
+     * @param odds     the payout odds of the Outcome
+     * @param bins     the numbers of the bins the Outcome wins in
+     */
+    private void add(WheelLayout wheel, OutcomeCategory category, String name, int odds, int... bins) {
+        Outcome outcome = new Outcome(name, odds);
+        for (int bin : bins) {
+            wheel.addOutcome(bin, name, category, outcome);
         }
     }
 }
@@ -0,0 +1,332 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Checkpoint is the saved progress of a ParallelSimulator run: the configuration of the run, the number of blocks
+ * whose sessions have been gathered, and the running statistics of those blocks. Since every block is played from a
+ * seed derived from the master seed and the block number, no random number generator state needs saving; resuming
+ * at the next block replays exactly the sessions an uninterrupted run would have played.
+ * <p>
+ * A checkpoint is a small binary file: a fixed-size part, followed by the non-empty buckets of the duration and
+ * maximum histograms. It is written through a FileChannel to a temporary file which then replaces the previous
+ * checkpoint, so a crash while writing leaves the previous checkpoint intact.
+ */
+public class Checkpoint {
+
+    /**
+     * Identifies a checkpoint file, and its format version.
+     */
+    protected static final int MAGIC = 0x524C434B;
+    protected static final int VERSION = 3;
+
+    /**
+     * The size of the fixed-size part of a checkpoint in bytes.
+     */
+    protected static final int SIZE = 2 * 4 + 8 + 8 * 4 + 8 + 2 * (8 + 8 + 8 + 8 + 8);
+
+    protected final long seed;
+
+    protected final int samples;
+
+    protected final int blockSize;
+
+    protected final int sessionDuration;
+
+    protected final long initialStake;
+
+    protected final int playerType;
+
+    protected final int randomSourceType;
+
+    protected final int layoutSize;
+
+    protected final boolean laPartage;
+
+    /**
+     * The number of blocks gathered; the run resumes at this block.
+     */
+    protected final int nextBlock;
+
+    protected final StreamingStatistics durations;
+
+    protected final StreamingStatistics maxima;
+
+    protected final IntegerHistogram durationHistogram;
+
+    protected final IntegerHistogram maximumHistogram;
+
+    /**
+     * Captures the progress of a run.
+     *
+     * @param simulator the simulator of the run
+     * @param nextBlock the number of blocks gathered
+     */
+    public Checkpoint(ParallelSimulator simulator, int nextBlock) {
+        this(simulator.SEED, simulator.samples, simulator.blockSize, simulator.sessionDuration,
+                simulator.initialStake, simulator.PLAYER_TYPE.ordinal(), simulator.randomSourceType.ordinal(),
+                simulator.LAYOUT.size(), simulator.LAYOUT.LA_PARTAGE, nextBlock,
+                copy(simulator.durationStatistics), copy(simulator.maximumStatistics),
+                copy(simulator.durationHistogram), copy(simulator.maximumHistogram));
+    }
+
+    protected Checkpoint(long seed, int samples, int blockSize, int sessionDuration, long initialStake,
+                         int playerType, int randomSourceType, int layoutSize, boolean laPartage, int nextBlock,
+                         StreamingStatistics durations, StreamingStatistics maxima,
+                         IntegerHistogram durationHistogram, IntegerHistogram maximumHistogram) {
+        this.seed = seed;
+        this.samples = samples;
+        this.blockSize = blockSize;
+        this.sessionDuration = sessionDuration;
+        this.initialStake = initialStake;
+        this.playerType = playerType;
+        this.randomSourceType = randomSourceType;
+        this.layoutSize = layoutSize;
+        this.laPartage = laPartage;
+        this.nextBlock = nextBlock;
+        this.durations = durations;
+        this.maxima = maxima;
+        this.durationHistogram = durationHistogram;
+        this.maximumHistogram = maximumHistogram;
+    }
+
+    private static StreamingStatistics copy(StreamingStatistics statistics) {
+        return new StreamingStatistics().combine(statistics);
+    }
+
+    private static IntegerHistogram copy(IntegerHistogram histogram) {
+        return new IntegerHistogram(histogram.PRECISION).combine(histogram);
+    }
+
+    /**
+     * Tests whether this checkpoint was written by a run with the same configuration as the given simulator, so
+     * that resuming from it gives the results of an uninterrupted run.
+     *
+     * @param simulator the simulator about to gather
+     * @return true if the configurations match
+     */
+    public boolean matches(ParallelSimulator simulator) {
+        return seed == simulator.SEED
+                && samples == simulator.samples
+                && blockSize == simulator.blockSize
+                && sessionDuration == simulator.sessionDuration
+                && initialStake == simulator.initialStake
+                && playerType == simulator.PLAYER_TYPE.ordinal()
+                && randomSourceType == simulator.randomSourceType.ordinal()
+                && layoutSize == simulator.LAYOUT.size()
+                && laPartage == simulator.LAYOUT.LA_PARTAGE;
+    }
+
+    /**
+     * @return the number of blocks gathered
+     */
+    public int getNextBlock() {
+        return nextBlock;
+    }
+
+    /**
+     * Replaces the contents of the given accumulators with the saved statistics.
+     *
+     * @param durations         the accumulator of session durations
+     * @param maxima            the accumulator of session maxima
+     * @param durationHistogram the histogram of session durations
+     * @param maximumHistogram  the histogram of session maxima
+     */
+    public void restore(StreamingStatistics durations, StreamingStatistics maxima,
+                        IntegerHistogram durationHistogram, IntegerHistogram maximumHistogram) {
+        set(durations, this.durations);
+        set(maxima, this.maxima);
+        set(durationHistogram, this.durationHistogram);
+        set(maximumHistogram, this.maximumHistogram);
+    }
+
+    private static void set(IntegerHistogram target, IntegerHistogram source) {
+        if (target.PRECISION != source.PRECISION) {
+            throw new IllegalStateException("Checkpoint histograms are of a different precision");
+        }
+        System.arraycopy(source.counts, 0, target.counts, 0, source.counts.length);
+        target.count = source.count;
+        target.min = source.min;
+        target.max = source.max;
+    }
+
+    private static void set(StreamingStatistics target, StreamingStatistics source) {
+        target.count = source.count;
+        target.mean = source.mean;
+        target.m2 = source.m2;
+        target.min = source.min;
+        target.max = source.max;
+    }
+
+    /**
+     * Writes this checkpoint to a file, replacing any previous checkpoint there.
+     *
+     * @param path the checkpoint file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE + size(durationHistogram) + size(maximumHistogram));
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putLong(seed);
+        buffer.putInt(samples).putInt(blockSize).putInt(sessionDuration).putLong(initialStake);
+        buffer.putInt(playerType).putInt(randomSourceType).putInt(layoutSize).putInt(laPartage ? 1 : 0);
+        buffer.putInt(nextBlock);
+        put(buffer, durations);
+        put(buffer, maxima);
+        put(buffer, durationHistogram);
+        put(buffer, maximumHistogram);
+        buffer.flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a checkpoint from a file.
+     *
+     * @param path the checkpoint file
+     * @return the checkpoint
+     * @throws IOException if the file cannot be read or is not a checkpoint
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE, Math.max(SIZE, channel.size())));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+        }
+        if (buffer.position() < SIZE) {
+            throw new IOException("Checkpoint " + path + " is truncated");
+        }
+        buffer.flip();
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException(path + " is not a checkpoint");
+        }
+        long seed = buffer.getLong();
+        int samples = buffer.getInt();
+        int blockSize = buffer.getInt();
+        int sessionDuration = buffer.getInt();
+        long initialStake = buffer.getLong();
+        int playerType = buffer.getInt();
+        int randomSourceType = buffer.getInt();
+        int layoutSize = buffer.getInt();
+        boolean laPartage = buffer.getInt() != 0;
+        int nextBlock = buffer.getInt();
+        StreamingStatistics durations = get(buffer);
+        StreamingStatistics maxima = get(buffer);
+        IntegerHistogram durationHistogram;
+        IntegerHistogram maximumHistogram;
+        try {
+            durationHistogram = getHistogram(buffer);
+            maximumHistogram = getHistogram(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Checkpoint " + path + " is truncated or corrupt", e);
+        }
+
+        return new Checkpoint(seed, samples, blockSize, sessionDuration, initialStake, playerType, randomSourceType,
+                layoutSize, laPartage, nextBlock, durations, maxima, durationHistogram, maximumHistogram);
+    }
+
+    private static void put(ByteBuffer buffer, StreamingStatistics statistics) {
+        buffer.putLong(statistics.count);
+        buffer.putDouble(statistics.mean);
+        buffer.putDouble(statistics.m2);
+        buffer.putLong(statistics.min);
+        buffer.putLong(statistics.max);
+    }
+
+    /**
+     * @return the number of bytes a histogram is written in: its precision, count, minimum, maximum and number of
+     * non-empty buckets, then the index and count of each of those buckets
+     */
+    private static int size(IntegerHistogram histogram) {
+        int buckets = 0;
+        for (long count : histogram.counts) {
+            if (count != 0) {
+                buckets++;
+            }
+        }
+        return 4 + 8 + 8 + 8 + 4 + buckets * (4 + 8);
+    }
+
+    private static void put(ByteBuffer buffer, IntegerHistogram histogram) {
+        buffer.putInt(histogram.PRECISION);
+        buffer.putLong(histogram.count);
+        buffer.putLong(histogram.min);
+        buffer.putLong(histogram.max);
+
+        int buckets = 0;
+        for (long count : histogram.counts) {
+            if (count != 0) {
+                buckets++;
+            }
+        }
+        buffer.putInt(buckets);
+        for (int i = 0; i < histogram.counts.length; i++) {
+            if (histogram.counts[i] != 0) {
+                buffer.putInt(i).putLong(histogram.counts[i]);
+            }
+        }
+    }
+
+    private static IntegerHistogram getHistogram(ByteBuffer buffer) {
+        IntegerHistogram histogram = new IntegerHistogram(buffer.getInt());
+        histogram.count = buffer.getLong();
+        histogram.min = buffer.getLong();
+        histogram.max = buffer.getLong();
+
+        int buckets = buffer.getInt();
+        for (int i = 0; i < buckets; i++) {
+            histogram.counts[buffer.getInt()] = buffer.getLong();
+        }
+        return histogram;
+    }
+
+    private static StreamingStatistics get(ByteBuffer buffer) {
+        StreamingStatistics statistics = new StreamingStatistics();
+        statistics.count = buffer.getLong();
+        statistics.mean = buffer.getDouble();
+        statistics.m2 = buffer.getDouble();
+        statistics.min = buffer.getLong();
+        statistics.max = buffer.getLong();
+        return statistics;
+    }
+}
@@ -18,11 +18,15 @@ package io.github.softwarecats.roulette;
 
 import io.github.softwarecats.roulette.player.Player;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
 
 /**
  * Game manages the sequence of actions that defines the game of Roulette. This includes notifying the Player to place
- * bets, spinning the Wheel and resolving the Bets actually present on the Table.
+ * bets, spinning the Wheel and resolving the Bets actually present on the Table. A cycle may be played by one Player
+ * or by several Players sharing the Table.
  */
 public class Game {
 
@@ -55,6 +59,18 @@ public class Game {
      * The Table which contains the Bets placed by the Player.
      */
     private final Table table;
+    /**
+     * The Players taking part in the current multi-player cycle. The array keeps its capacity between cycles.
+     */
+    private Player[] seats = new Player[8];
+    private int seated;
+    /**
+     * The bin spun in the last cycle, the total amount bet on it, and the outcome id of its first bet, kept for
+     * tracing.
+     */
+    private int lastBin = -1;
+    private long lastBetAmount;
+    private int lastOutcomeId = -1;
 
     /**
      * Constructs a new Game, using a given Wheel and Table.
@@ -83,28 +99,11 @@ public class Game {
         player.placeBets();
 
         // Spin wheel for winners
-        Bin winningBin = wheel.next();
-
-        // See which bets won or lost
-        List<Bet> winningBets = new ArrayList<>();
-        List<Bet> losingBets = new ArrayList<>();
-        for (ListIterator<Bet> it = table.iterator(); it.hasNext(); ) {
-            Bet bet = it.next();
-            if (winningBin.contains(bet.outcome)) {
-                winningBets.add(bet);
-            } else {
-                losingBets.add(bet);
-            }
-            it.remove();
-        }
+        int winningNumber = wheel.nextBin();
+        Bin winningBin = wheel.getBin(winningNumber);
 
         // Tell player about if his bets won or lost
-        for (Bet bet : winningBets) {
-            player.win(bet);
-        }
-        for (Bet bet : losingBets) {
-            player.lose(bet);
-        }
+        settle(winningNumber, player);
 
         // Tell player about outcomes that would have won
         player.notifyWinners(winningBin);
@@ -112,4 +111,115 @@ public class Game {
         // Update player round counter
         player.roundsToGo -= 1;
     }
+
+    /**
+     * This will execute a single cycle of play with several Players sharing the Table. Every Player still playing
+     * places their bets, one spin of the wheel resolves all of them, and each Bet is settled with the Player who
+     * placed it. Players who are no longer playing sit the cycle out.
+     *
+     * @param players the Players at the table
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void cycle(List<Player> players) throws InvalidBetException {
+        // Seat the players still playing, and take their bets
+        seated = 0;
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (player.playing()) {
+                if (seated == seats.length) {
+                    seats = Arrays.copyOf(seats, 2 * seated);
+                }
+                seats[seated++] = player;
+                player.placeBets();
+            }
+        }
+        if (seated == 0) {
+            return;
+        }
+
+        // One spin for the whole table
+        int winningNumber = wheel.nextBin();
+        Bin winningBin = wheel.getBin(winningNumber);
+
+        // Each bet is settled with the player who placed it
+        settle(winningNumber, null);
+
+        for (int i = 0; i < seated; i++) {
+            seats[i].notifyWinners(winningBin);
+            seats[i].roundsToGo -= 1;
+            seats[i] = null;
+        }
+        seated = 0;
+    }
+
+    /**
+     * Resolves the bets where they lie on the table, winners first, so no lists are built for them, and then clears
+     * the table. Whether a bet wins is a single bit test of its outcome id against the winning bin.
+     *
+     * @param winningNumber the bin spun
+     * @param player        the Player to settle every bet with, or null to settle each bet with its parent
+     */
+    private void settle(int winningNumber, Player player) {
+        int bets = table.size();
+        lastBin = winningNumber;
+        lastOutcomeId = bets > 0 ? table.getBet(0).outcomeId : -1;
+        lastBetAmount = 0;
+
+        for (int i = 0; i < bets; i++) {
+            Bet bet = table.getBet(i);
+            lastBetAmount += bet.amountBet;
+            Player owner = player != null ? player : bet.parent;
+            if (owner != null && wheel.isWinner(bet.outcomeId, winningNumber)) {
+                owner.win(bet);
+            }
+        }
+        for (int i = 0; i < bets; i++) {
+            Bet bet = table.getBet(i);
+            Player owner = player != null ? player : bet.parent;
+            if (owner != null && !wheel.isWinner(bet.outcomeId, winningNumber)) {
+                owner.lose(bet);
+
+                // Under la partage half of a losing even money bet is returned when zero is spun
+                if (wheel.isLaPartage(bet.outcomeId, winningNumber)) {
+                    owner.stake += bet.amountBet / 2;
+                }
+            }
+        }
+        table.clear();
+    }
+
+    /**
+     * Returns the amounts of every bet still on the table to the Players who placed them, and clears the table. This
+     * undoes the bets of a cycle abandoned because a Player’s bet was rejected.
+     */
+    public void withdrawBets() {
+        for (int i = 0; i < table.size(); i++) {
+            Bet bet = table.getBet(i);
+            if (bet.parent != null) {
+                bet.parent.stake += bet.amountBet;
+            }
+        }
+        table.clear();
+    }
+
+    /**
+     * @return the bin spun in the last cycle, or -1 if no cycle has been played
+     */
+    public int getLastBin() {
+        return lastBin;
+    }
+
+    /**
+     * @return the total amount bet in the last cycle, by every Player at the table
+     */
+    public long getLastBetAmount() {
+        return lastBetAmount;
+    }
+
+    /**
+     * @return the outcome id of the first bet of the last cycle, or -1 if there was no bet
+     */
+    public int getLastOutcomeId() {
+        return lastOutcomeId;
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+/**
+ * IntegerHistogram counts non-negative integer values in log-linear buckets, as an HDR histogram does, so that any
+ * quantile of the values can be read back within a fixed relative error. Values below 2<sup>precision</sup> have a
+ * bucket each and are exact; above that, every power of two is split into 2<sup>precision - 1</sup> buckets of equal
+ * width, so a quantile is reported to within 2<sup>-precision</sup> of its value.
+ * <p>
+ * Values are longs, so the stakes of any session fit. The memory used is fixed, about 30 kB at the default precision,
+ * whatever the number of values. Histograms of the same precision are combined exactly by adding their counts, so the
+ * histograms of separate threads, blocks or runs merge into the histogram of all their values regardless of order.
+ */
+public class IntegerHistogram {
+
+    /**
+     * The default precision, for quantiles within 0.8% of their value.
+     */
+    public static final int DEFAULT_PRECISION = 7;
+
+    /**
+     * The number of bits of each value kept; see the class description.
+     */
+    protected final int PRECISION;
+
+    /**
+     * The number of values in each bucket.
+     */
+    protected final long[] counts;
+
+    protected long count;
+
+    protected long min = Long.MAX_VALUE;
+
+    protected long max = Long.MIN_VALUE;
+
+    /**
+     * Creates an empty histogram of the default precision.
+     */
+    public IntegerHistogram() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param precision the number of bits of each value kept, from 1 to 20
+     */
+    public IntegerHistogram(int precision) {
+        if (precision < 1 || precision > 20) {
+            throw new IllegalArgumentException("Precision must be between 1 and 20 bits");
+        }
+        this.PRECISION = precision;
+        this.counts = new long[(1 << precision) + (Long.SIZE - 1 - precision) * (1 << (precision - 1))];
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return the index of the bucket the value falls in
+     */
+    protected int index(long value) {
+        if (value < 1 << PRECISION) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - PRECISION;
+        return (1 << PRECISION) + (shift - 1) * (1 << (PRECISION - 1)) + (int) (value >>> shift)
+                - (1 << (PRECISION - 1));
+    }
+
+    /**
+     * @param index the index of a bucket
+     * @return the smallest value in the bucket
+     */
+    protected long lowest(int index) {
+        if (index < 1 << PRECISION) {
+            return index;
+        }
+        int offset = index - (1 << PRECISION);
+        int shift = offset / (1 << (PRECISION - 1)) + 1;
+        return ((long) (offset % (1 << (PRECISION - 1))) + (1 << (PRECISION - 1))) << shift;
+    }
+
+    /**
+     * @param index the index of a bucket
+     * @return the largest value in the bucket
+     */
+    protected long highest(int index) {
+        return index == counts.length - 1 ? Long.MAX_VALUE : lowest(index + 1) - 1;
+    }
+
+    /**
+     * Adds a value to the histogram.
+     *
+     * @param value the value to add
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative");
+        }
+        counts[index(value)]++;
+        count++;
+
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @param other a histogram of the same precision
+     * @return this histogram
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public IntegerHistogram combine(IntegerHistogram other) {
+        if (other.PRECISION != PRECISION) {
+            throw new IllegalArgumentException("Histograms of different precisions cannot be combined");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the values lie: the smallest value v such that at least
+     * that fraction of the values are at most v, to within the precision of the histogram.
+     *
+     * @param quantile the fraction, from 0 for the minimum to 1 for the maximum
+     * @return the value at the quantile
+     * @throws IllegalStateException if the histogram is empty
+     */
+    public long getQuantile(double quantile) {
+        if (count == 0) {
+            throw new IllegalStateException("Histogram is empty");
+        }
+        if (quantile <= 0) {
+            return min;
+        } else if (quantile >= 1) {
+            return max;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        int i = 0;
+        while (seen + counts[i] < rank) {
+            seen += counts[i++];
+        }
+
+        // The middle of the bucket, within the values actually seen
+        long lowest = lowest(i);
+        long middle = lowest + (highest(i) - lowest) / 2;
+        return Math.max(min, Math.min(max, middle));
+    }
+
+    /**
+     * @return the median of the values
+     */
+    public long getMedian() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * @return the number of values added
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the smallest value added
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return the largest value added
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return the number of bits of each value kept
+     */
+    public int getPrecision() {
+        return PRECISION;
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "count=0";
+        }
+        return "count=" + count + ", min=" + min + ", p1=" + getQuantile(0.01) + ", median=" + getMedian()
+                + ", p99=" + getQuantile(0.99) + ", max=" + max;
+    }
+}
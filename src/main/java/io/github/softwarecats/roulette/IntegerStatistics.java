@@ -20,20 +20,20 @@ import java.util.List;
 
 
 /**
- * IntegerStatistics computes several simple descriptive statistics of Integer values in a List.
+ * IntegerStatistics computes several simple descriptive statistics of Integer or Long values in a List.
  * Like the java.util.Math class, this class simply has a bunch of ‘static’ methods.
  */
 public class IntegerStatistics {
 
     /**
-     * Returns the sum of elements in the {@link List<Integer>}.
+     * Returns the sum of elements in the List.
      *
      * @param values the list
      * @return the sum of elements in the list
      */
-    public static int sum(List<Integer> values) {
+    public static long sum(List<? extends Number> values) {
         return values.stream()
-                .mapToInt(Integer::valueOf)
+                .mapToLong(Number::longValue)
                 .sum();
     }
 
@@ -45,7 +45,7 @@ public class IntegerStatistics {
      * @param values the list
      * @return the number of elements in the list
      */
-    public static int len(List<Integer> values) {
+    public static int len(List<? extends Number> values) {
         return values.size();
     }
 
@@ -55,7 +55,7 @@ public class IntegerStatistics {
      * @param values the list of values we are summarizing
      * @return the mean of the elements in the list
      */
-    public static double mean(List<Integer> values) {
+    public static double mean(List<? extends Number> values) {
         return (double) sum(values) / len(values);
     }
 
@@ -65,12 +65,12 @@ public class IntegerStatistics {
      * @param values the list of values we are summarizing
      * @return the standard deviation of the elements in the list
      */
-    public static double std(List<Integer> values) {
+    public static double std(List<? extends Number> values) {
         double mean = mean(values);
 
         double sum = 0;
-        for (Integer value : values) {
-            double diff = value - mean;
+        for (Number value : values) {
+            double diff = value.longValue() - mean;
             sum += diff * diff;
         }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+/**
+ * Money holds the arithmetic of stakes and bets, which are whole units in a long. Like the java.util.Math class, this
+ * class simply has a bunch of ‘static’ methods.
+ * <p>
+ * Two kinds of overflow are told apart. A betting progression which outgrows a long, such as a Martingale after 63
+ * losses, saturates at Long.MAX_VALUE: canPlace() refuses such a bet whatever the stake, so the session ends just as it
+ * would at any bet beyond the stake. Settling a bet whose amount won overflows would lose money, so that is done with
+ * Math.addExact() and Math.multiplyExact(), which throw an ArithmeticException instead.
+ */
+public class Money {
+
+    /**
+     * @param a an amount
+     * @param b another amount
+     * @return the sum, or Long.MAX_VALUE or Long.MIN_VALUE if it overflows
+     */
+    public static long add(long a, long b) {
+        long sum = a + b;
+        // Overflow makes the sign of the sum differ from the signs of both terms
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    /**
+     * @param a an amount
+     * @param b a multiplier
+     * @return the product, or Long.MAX_VALUE or Long.MIN_VALUE if it overflows
+     */
+    public static long multiply(long a, long b) {
+        long product = a * b;
+        // The high half of the 128 bit product is only the sign extension of the low half when it fits
+        if (Math.multiplyHigh(a, b) != product >> 63) {
+            return (a ^ b) < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return product;
+    }
+
+    /**
+     * Checks whether a Player with the given stake may place a bet. A saturated bet of Long.MAX_VALUE is never
+     * placed, even with a stake of Long.MAX_VALUE, since it stands for an amount beyond any long and could not be
+     * paid out.
+     *
+     * @param amount the amount of the bet
+     * @param stake  the stake of the Player
+     * @return true if the bet is no more than the stake and has not saturated
+     */
+    public static boolean canPlace(long amount, long stake) {
+        return amount <= stake && amount != Long.MAX_VALUE;
+    }
+
+    /**
+     * Computes what a winning bet returns: the amount bet and the amount won at the given odds.
+     *
+     * @param amount the amount bet
+     * @param odds   the odds paid, as the amount won for each unit bet
+     * @return the amount bet plus the amount won
+     * @throws ArithmeticException if the amount returned does not fit in a long
+     */
+    public static long payout(long amount, long odds) {
+        return Math.addExact(amount, Math.multiplyExact(amount, odds));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+/**
+ * OutcomeCategory is the kind of bet an Outcome represents on a Roulette table.
+ */
+public enum OutcomeCategory {
+    /**
+     * A single number, including zero and double zero.
+     */
+    STRAIGHT,
+    /**
+     * Two adjacent numbers.
+     */
+    SPLIT,
+    /**
+     * A row of three numbers.
+     */
+    STREET,
+    /**
+     * A square of four numbers.
+     */
+    CORNER,
+    /**
+     * The five bet on 0, 00, 1, 2 and 3.
+     */
+    FIVE,
+    /**
+     * Two adjacent rows of six numbers.
+     */
+    LINE,
+    /**
+     * One of the three groups of twelve numbers, 1-12, 13-24 and 25-36.
+     */
+    DOZEN,
+    /**
+     * One of the three columns of twelve numbers.
+     */
+    COLUMN,
+    /**
+     * Red, black, even, odd, high or low.
+     */
+    EVEN_MONEY
+}
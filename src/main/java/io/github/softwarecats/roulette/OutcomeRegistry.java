@@ -0,0 +1,103 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.casino.event.Outcome;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OutcomeRegistry indexes the Outcomes of a Wheel by name and by category, so that a Player can find the Outcome it
+ * bets on without scanning every Outcome. BinBuilder registers each Outcome once, with its name and category, as it
+ * builds the bins.
+ * <p>
+ * The lists returned are immutable and cached, so repeated lookups, such as one per Player replica, allocate nothing.
+ * Registering another Outcome discards the cached lists. Once registration is over, lookups may be made from any
+ * number of threads.
+ */
+public class OutcomeRegistry {
+
+    /**
+     * The Outcomes by name, in name order so that prefixes are ranges.
+     */
+    protected final NavigableMap<String, Outcome> BY_NAME = new TreeMap<>();
+
+    /**
+     * The Outcomes of each category, in the order they were registered.
+     */
+    protected final Map<OutcomeCategory, List<Outcome>> BY_CATEGORY = new EnumMap<>(OutcomeCategory.class);
+
+    private final Map<OutcomeCategory, List<Outcome>> categoryCache = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Outcome>> prefixCache = new ConcurrentHashMap<>();
+
+    /**
+     * Registers an Outcome. An Outcome already registered under the name is kept, since BinBuilder creates an equal
+     * Outcome for every bin it is added to.
+     *
+     * @param name     the name of the Outcome
+     * @param category the kind of bet
+     * @param outcome  the Outcome
+     */
+    public void register(String name, OutcomeCategory category, Outcome outcome) {
+        if (BY_NAME.putIfAbsent(name, outcome) == null) {
+            BY_CATEGORY.computeIfAbsent(category, key -> new ArrayList<>()).add(outcome);
+            categoryCache.remove(category);
+            prefixCache.clear();
+        }
+    }
+
+    /**
+     * @param name the exact name of an Outcome
+     * @return the Outcome with the name, or null if there is none
+     */
+    public Outcome getOutcome(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * @param category the kind of bet
+     * @return the Outcomes of the category, in the order they were registered
+     */
+    public List<Outcome> getOutcomes(OutcomeCategory category) {
+        return categoryCache.computeIfAbsent(category,
+                key -> List.copyOf(BY_CATEGORY.getOrDefault(key, List.of())));
+    }
+
+    /**
+     * @param prefix the start of the names
+     * @return the Outcomes whose names start with the prefix, in name order
+     */
+    public List<Outcome> getOutcomesStartingWith(String prefix) {
+        return prefixCache.computeIfAbsent(prefix,
+                key -> List.copyOf(BY_NAME.subMap(key, true, key + Character.MAX_VALUE, true).values()));
+    }
+
+    /**
+     * @return the number of Outcomes registered
+     */
+    public int size() {
+        return BY_NAME.size();
+    }
+}
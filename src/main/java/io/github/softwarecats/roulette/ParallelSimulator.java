@@ -0,0 +1,429 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSource;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import io.github.softwarecats.roulette.random.Seeds;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * ParallelSimulator is a Simulator which spreads its samples over several worker threads. Each worker owns a
+ * private replica of the Wheel, Table, Player and Game, so no state is shared while sessions are played.
+ * <p>
+ * The samples are cut into fixed-size blocks, and every block gives the worker’s replica a new source of random
+ * numbers, seeded from the master seed and the block number; the Player gets a stream split from the wheel’s. Since the
+ * seed of a block does not depend on which worker plays it, the gathered statistics are identical for a given master
+ * seed whatever the number of threads.
+ */
+public class ParallelSimulator extends Simulator {
+
+    /**
+     * The number of worker threads. Defaults to the number of available processors.
+     */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of consecutive samples played from one seed. Changing this changes the results, so it must be kept
+     * the same when reproducing a run.
+     */
+    public int blockSize = 1024;
+
+    /**
+     * The kind of random number generator each block is played with.
+     */
+    public RandomSourceType randomSourceType = RandomSourceType.SPLITTABLE;
+
+    /**
+     * The file progress is saved to while gathering, or null for no checkpoints. If the file exists when gather()
+     * starts, the run resumes from it; it is deleted once the run completes.
+     */
+    public Path checkpoint = null;
+
+    /**
+     * The number of blocks gathered between checkpoints.
+     */
+    public int checkpointBlocks = 64;
+
+    /**
+     * The betting strategy each worker builds its Player from.
+     */
+    protected final PlayerType PLAYER_TYPE;
+
+    /**
+     * The layout shared by the wheels of every worker.
+     */
+    protected final WheelLayout LAYOUT;
+
+    /**
+     * The master seed from which the seed of every block is derived.
+     */
+    protected final long SEED;
+
+    /**
+     * Creates a simulator of the given strategy. A replica is built for this simulator as well, so that session()
+     * can still be used on its own.
+     *
+     * @param playerType the betting strategy to simulate
+     * @param seed       the master seed
+     */
+    public ParallelSimulator(PlayerType playerType, long seed) {
+        this(playerType, WheelLayout.AMERICAN, seed);
+    }
+
+    /**
+     * Creates a simulator of the given strategy on a wheel layout, which should be frozen since every worker
+     * shares it.
+     *
+     * @param playerType the betting strategy to simulate
+     * @param layout     the layout of the wheels
+     * @param seed       the master seed
+     */
+    public ParallelSimulator(PlayerType playerType, WheelLayout layout, long seed) {
+        this(new Replica(playerType, layout), seed);
+    }
+
+    private ParallelSimulator(Replica replica, long seed) {
+        super(replica.game, replica.player);
+        this.PLAYER_TYPE = replica.playerType;
+        this.LAYOUT = replica.wheel.getLayout();
+        this.SEED = seed;
+    }
+
+    /**
+     * Plays the samples on a pool of worker threads. Each worker claims the next unplayed block, reseeds its
+     * replica and plays the sessions of that block into the block’s own running statistics. The blocks are
+     * combined in block order as soon as all the blocks before them are done, so the floating point results do not
+     * depend on which worker finished first.
+     * <p>
+     * When a checkpoint file is set, the combined statistics are saved to it every checkpointBlocks blocks, and a
+     * run which finds the file resumes after the last saved block with identical results.
+     * <p>
+     * With a target relative width, the precision is checked as each block is combined, and gathering stops after
+     * the first block at which the target is met.
+     *
+     * @throws InvalidBetException      if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws IllegalArgumentException if blockSize is not positive
+     * @throws IllegalStateException    if the checkpoint was written by a run with a different configuration, or raw
+     *                                  data is requested with a checkpoint
+     * @throws UncheckedIOException     if the checkpoint cannot be read or written
+     */
+    @Override
+    public void gather() throws InvalidBetException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        long start = System.nanoTime();
+        // In longs, since samples may be as large as Integer.MAX_VALUE when gathering to a time budget
+        int blocks = (int) ((samples + (long) blockSize - 1) / blockSize);
+        int firstBlock = resume();
+        int workers = Math.max(1, Math.min(parallelism, blocks - firstBlock));
+
+        Block[] finished = new Block[blocks];
+        int[] sessionDurations = keepRawData ? new int[samples] : null;
+        long[] sessionMaxima = keepRawData ? new long[samples] : null;
+        AtomicInteger nextBlock = new AtomicInteger(firstBlock);
+        // Never counts past blocks, so that it cannot wrap around to a negative block
+        IntUnaryOperator claim = block -> block < blocks ? block + 1 : block;
+        // Set once any worker fails, after which no block is handed out, combined or saved
+        AtomicBoolean failed = new AtomicBoolean();
+
+        // The blocks before the frontier have been combined, and those before the last checkpoint saved; no block
+        // from the last on is combined
+        Object frontierLock = new Object();
+        int[] frontier = {firstBlock, firstBlock, blocks};
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        Replica replica = new Replica(PLAYER_TYPE, LAYOUT);
+                        replica.simulator.sessionDuration = sessionDuration;
+                        replica.simulator.initialStake = initialStake;
+                        replica.simulator.metrics = metrics;
+                        SessionResult result = new SessionResult();
+
+                        int block;
+                        while (!failed.get() && (block = nextBlock.getAndUpdate(claim)) < blocks) {
+                            if (metrics != null) {
+                                metrics.setPendingBlocks(blocks - block - 1);
+                            }
+                            replica.reseed(randomSourceType.create(Seeds.derive(SEED, block)));
+                            Block statistics = new Block();
+
+                            int end = (int) Math.min(samples, (long) (block + 1) * blockSize);
+                            for (int i = block * blockSize; i < end && !failed.get(); i++) {
+                                replica.simulator.session(result);
+                                int duration = result.getDuration();
+                                long maximum = result.getMaximum();
+
+                                statistics.add(duration, maximum);
+                                if (keepRawData) {
+                                    sessionDurations[i] = duration;
+                                    sessionMaxima[i] = maximum;
+                                }
+                            }
+
+                            synchronized (frontierLock) {
+                                finished[block] = statistics;
+                                advance(frontier, finished, nextBlock, failed, start);
+                            }
+                        }
+                        return null;
+                    } catch (Throwable t) {
+                        stop(failed, nextBlock, blocks);
+                        throw t;
+                    }
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            stop(failed, nextBlock, blocks);
+            awaitTermination(executor);
+            if (e.getCause() instanceof InvalidBetException) {
+                throw (InvalidBetException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            stop(failed, nextBlock, blocks);
+            awaitTermination(executor);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while gathering samples", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (checkpoint != null) {
+            try {
+                Files.deleteIfExists(checkpoint);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (keepRawData) {
+            for (int i = 0; i < durationStatistics.getCount(); i++) {
+                durations.add(sessionDurations[i]);
+                maxima.add(sessionMaxima[i]);
+            }
+        }
+
+        summarise();
+    }
+
+    /**
+     * Restores the statistics saved in the checkpoint file, if there is one.
+     *
+     * @return the first block still to be played
+     */
+    private int resume() {
+        if (checkpoint == null) {
+            return 0;
+        }
+        if (keepRawData) {
+            throw new IllegalStateException("Raw data cannot be kept with a checkpoint");
+        }
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+
+        Checkpoint saved;
+        try {
+            saved = Checkpoint.read(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!saved.matches(this)) {
+            throw new IllegalStateException("Checkpoint " + checkpoint + " is of a different run");
+        }
+        saved.restore(durationStatistics, maximumStatistics, durationHistogram, maximumHistogram);
+        return saved.getNextBlock();
+    }
+
+    /**
+     * Combines the finished blocks which directly follow the frontier, and saves a checkpoint if enough blocks have
+     * been combined since the last one. Called with the frontier lock held.
+     * <p>
+     * When gathering is adaptive, the precision is checked after each block is combined. Once gathering should
+     * stop, no further block is handed out or combined, so with a target width alone the blocks combined, and so the
+     * results, are the same whatever the number of threads.
+     *
+     * Once a worker has failed, nothing more is combined or saved, so the last checkpoint stays that of blocks
+     * which were all played.
+     *
+     * @param frontier  the first block not combined, the first block not saved, and the end of the blocks to combine
+     * @param nextBlock the next block to be handed out
+     * @param failed    whether a worker has failed
+     * @param start     the System.nanoTime() at which gathering started
+     */
+    private void advance(int[] frontier, Block[] finished, AtomicInteger nextBlock, AtomicBoolean failed,
+                         long start) {
+        if (failed.get()) {
+            return;
+        }
+        while (frontier[0] < frontier[2] && finished[frontier[0]] != null) {
+            Block block = finished[frontier[0]];
+            durationStatistics.combine(block.durations);
+            maximumStatistics.combine(block.maxima);
+            durationHistogram.combine(block.durationHistogram);
+            maximumHistogram.combine(block.maximumHistogram);
+            finished[frontier[0]] = null;
+            frontier[0]++;
+
+            if (isAdaptive() && frontier[0] < frontier[2] && shouldStop(start)) {
+                frontier[2] = frontier[0];
+                nextBlock.set(finished.length);
+            }
+        }
+
+        if (checkpoint != null && frontier[0] < frontier[2] && frontier[0] - frontier[1] >= checkpointBlocks) {
+            try {
+                new Checkpoint(this, frontier[0]).write(checkpoint);
+                frontier[1] = frontier[0];
+                checkpointed(frontier[0]);
+            } catch (IOException e) {
+                stop(failed, nextBlock, finished.length);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException | Error e) {
+                // Stop before the lock is released, so no other worker saves a later checkpoint
+                stop(failed, nextBlock, finished.length);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stops handing out blocks after a worker has failed or gathering was interrupted.
+     */
+    private static void stop(AtomicBoolean failed, AtomicInteger nextBlock, int blocks) {
+        failed.set(true);
+        nextBlock.set(blocks);
+    }
+
+    /**
+     * Interrupts the workers and waits for them to finish the session they are playing, so none is still combining
+     * blocks or writing the checkpoint once gathering has thrown.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called after each checkpoint is written, with the frontier lock held.
+     *
+     * @param nextBlock the number of blocks saved
+     */
+    protected void checkpointed(int nextBlock) {
+
+    }
+
+    /**
+     * The statistics of the sessions of one block.
+     */
+    private static class Block {
+
+        private final StreamingStatistics durations = new StreamingStatistics();
+
+        private final StreamingStatistics maxima = new StreamingStatistics();
+
+        private final IntegerHistogram durationHistogram = new IntegerHistogram();
+
+        private final IntegerHistogram maximumHistogram = new IntegerHistogram();
+
+        private void add(int duration, long maximum) {
+            durations.add(duration);
+            maxima.add(maximum);
+            durationHistogram.add(duration);
+            maximumHistogram.add(maximum);
+        }
+    }
+
+    /**
+     * Replica is one worker’s private copy of the simulation: a Wheel on the shared layout, a Table, a Player made
+     * by the PlayerFactory and a Game.
+     */
+    protected static class Replica {
+
+        protected final PlayerType playerType;
+
+        protected final Wheel wheel;
+
+        protected final Player player;
+
+        protected final Game game;
+
+        protected final Simulator simulator;
+
+        protected Replica(PlayerType playerType, WheelLayout layout) {
+            this.playerType = playerType;
+
+            RandomSource rng = RandomSourceType.SPLITTABLE.create(0);
+            this.wheel = new Wheel(layout, rng);
+
+            Table table = new Table(wheel);
+            this.player = PlayerFactory.getPlayer(playerType, table, rng.split());
+            this.game = new Game(wheel, table);
+            this.simulator = new Simulator(game, player);
+        }
+
+        /**
+         * Gives the wheel a new source of random numbers, and the player a stream split from it.
+         *
+         * @param rng the source of random numbers of the block about to be played
+         */
+        protected void reseed(RandomSource rng) {
+            wheel.setRandomSource(rng);
+            player.setRandomSource(rng.split());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import java.util.Arrays;
+
+/**
+ * PayoutSchedule is the odds a Table pays on each category of bet. A Table pays the odds listed in its wheel layout
+ * unless it is given another schedule: the STANDARD schedule pays the payout constants of Game whatever the layout
+ * lists, and a house with different rules, say 34 to 1 on a straight bet, is modelled by a Table with its own
+ * schedule, on the same shared wheel layout.
+ * <p>
+ * A schedule cannot be changed once made; withOdds() returns a new one.
+ */
+public class PayoutSchedule {
+
+    /**
+     * The usual odds, from the payout constants of Game.
+     */
+    public static final PayoutSchedule STANDARD = new PayoutSchedule()
+            .withOdds(OutcomeCategory.STRAIGHT, Game.STRAIGHT_BET_PAYOUT)
+            .withOdds(OutcomeCategory.SPLIT, Game.SPLIT_BET_PAYOUT)
+            .withOdds(OutcomeCategory.STREET, Game.STREET_BET_PAYOUT)
+            .withOdds(OutcomeCategory.CORNER, Game.CORNER_BET_PAYOUT)
+            .withOdds(OutcomeCategory.FIVE, Game.FIVE_BET_PAYOUT)
+            .withOdds(OutcomeCategory.LINE, Game.LINE_BET_PAYOUT)
+            .withOdds(OutcomeCategory.DOZEN, Game.DOZEN_BET_PAYOUT)
+            .withOdds(OutcomeCategory.COLUMN, Game.COLUMN_BET_PAYOUT)
+            .withOdds(OutcomeCategory.EVEN_MONEY, Game.EVEN_MONEY_BET_PAYOUT);
+
+    /**
+     * The odds of each category, indexed by ordinal, or -1 where the odds of the Outcome itself are paid.
+     */
+    private final int[] ODDS;
+
+    /**
+     * Creates a schedule which pays the odds of each Outcome as listed in the wheel layout.
+     */
+    public PayoutSchedule() {
+        this.ODDS = new int[OutcomeCategory.values().length];
+        Arrays.fill(ODDS, -1);
+    }
+
+    private PayoutSchedule(int[] odds) {
+        this.ODDS = odds;
+    }
+
+    /**
+     * @param category the kind of bet
+     * @param odds     the odds to pay on it, as the amount won for each unit bet
+     * @return a schedule like this one, but paying the given odds on the category
+     * @throws IllegalArgumentException if the odds are negative
+     */
+    public PayoutSchedule withOdds(OutcomeCategory category, int odds) {
+        if (odds < 0) {
+            throw new IllegalArgumentException("Odds cannot be negative");
+        }
+        int[] copy = ODDS.clone();
+        copy[category.ordinal()] = odds;
+        return new PayoutSchedule(copy);
+    }
+
+    /**
+     * @param category the kind of bet
+     * @return the odds paid on the category, or -1 if the odds of the Outcome itself are paid
+     */
+    public int getOdds(OutcomeCategory category) {
+        return ODDS[category.ordinal()];
+    }
+
+    /**
+     * Looks up the odds paid on an Outcome of a layout: those of its category in this schedule, or else those the
+     * layout listed for it.
+     *
+     * @param layout    the layout of the wheel
+     * @param outcomeId the id of the Outcome, or -1 for an Outcome which is not in the layout
+     * @return the odds, or -1 if they are not a whole number and the Outcome must compute the amount won itself
+     */
+    public int getOdds(WheelLayout layout, int outcomeId) {
+        if (outcomeId < 0) {
+            return -1;
+        }
+        OutcomeCategory category = layout.getCategory(outcomeId);
+        int odds = category == null ? -1 : ODDS[category.ordinal()];
+        return odds >= 0 ? odds : layout.getOdds(outcomeId);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (OutcomeCategory category : OutcomeCategory.values()) {
+            if (ODDS[category.ordinal()] >= 0) {
+                builder.append(builder.length() == 0 ? "" : ", ")
+                        .append(category).append('=').append(ODDS[category.ordinal()]).append(":1");
+            }
+        }
+        return builder.toString();
+    }
+}
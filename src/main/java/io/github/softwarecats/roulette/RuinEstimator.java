@@ -0,0 +1,200 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSource;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import io.github.softwarecats.roulette.random.Seeds;
+import io.github.softwarecats.roulette.random.TiltedRandomSource;
+
+/**
+ * RuinEstimator estimates the probability of ruin of a strategy by importance sampling: that is, the probability
+ * that a session ends before sessionDuration cycles because the Player cannot afford their next bet, as
+ * MarkovAnalyzer defines it. For a progression such as Martingale with a deep stake, ruin takes a long losing
+ * streak, and is so rare that Simulator would need billions of sessions to see it often enough to estimate it.
+ * <p>
+ * Instead the wheel is spun with a TiltedRandomSource on which black loses with tiltedLossProbability, shared evenly
+ * among the bins black loses in, so that losing streaks are common. Each ruined session counts with the likelihood
+ * ratio of its spins, the probability of those spins on a fair wheel over their probability on the tilted one, so
+ * the mean over the sessions is an unbiased estimate of the ruin probability on a fair wheel. Black is the bet of
+ * every progression strategy here.
+ * <p>
+ * Session i is played from a seed derived from the master seed and i, so the estimate is reproducible.
+ */
+public class RuinEstimator {
+
+    public int sessionDuration = 250;
+
+    public long initialStake = Game.TABLE_MINIMUM * 100;
+
+    public int samples = 10_000;
+
+    public RandomSourceType randomSourceType = RandomSourceType.SPLITTABLE;
+
+    /**
+     * The probability that black loses on the tilted wheel. The more losses ruin needs, the nearer one this should
+     * be, though too near and the few sessions ruined after a lucky win dominate the estimate. Set to the probability
+     * that black loses on the fair wheel, this is plain Monte Carlo with every weight one.
+     */
+    public double tiltedLossProbability = 0.75;
+
+    /**
+     * The confidence level of the interval.
+     */
+    public double confidence = 0.95;
+
+    protected final PlayerType PLAYER_TYPE;
+
+    protected final WheelLayout LAYOUT;
+
+    protected final long SEED;
+
+    /**
+     * The number of sessions ruined on the tilted wheel.
+     */
+    protected long ruined;
+
+    /**
+     * Running statistics of the weight of each session: its likelihood ratio if it was ruined, and zero if not, by
+     * Welford’s algorithm. StreamingStatistics only takes integer values.
+     */
+    protected long count;
+
+    protected double mean;
+
+    protected double m2;
+
+    /**
+     * @param playerType the strategy whose ruin is estimated
+     * @param layout     the frozen layout of the wheel
+     * @param seed       the master seed
+     */
+    public RuinEstimator(PlayerType playerType, WheelLayout layout, long seed) {
+        this.PLAYER_TYPE = playerType;
+        this.LAYOUT = layout;
+        this.SEED = seed;
+    }
+
+    /**
+     * @return the probability that black loses on a fair spin of the wheel
+     */
+    public double getLossProbability() {
+        return 1 - (double) Long.bitCount(LAYOUT.getBinMask(blackId())) / LAYOUT.size();
+    }
+
+    private int blackId() {
+        return LAYOUT.getOutcomeId(LAYOUT.getOutcome(Game.BET_NAMES.getString("black")));
+    }
+
+    /**
+     * @return the probability of each bin on the tilted wheel
+     * @throws IllegalArgumentException if the tilted loss probability is not strictly between 0 and 1
+     */
+    protected double[] tiltedProbabilities() {
+        if (!(tiltedLossProbability > 0 && tiltedLossProbability < 1)) {
+            throw new IllegalArgumentException("The tilted loss probability must be strictly between 0 and 1");
+        }
+        long black = LAYOUT.getBinMask(blackId());
+        int wins = Long.bitCount(black);
+        int losses = LAYOUT.size() - wins;
+
+        double[] probabilities = new double[LAYOUT.size()];
+        for (int bin = 0; bin < probabilities.length; bin++) {
+            probabilities[bin] = (black >>> bin & 1L) != 0
+                    ? (1 - tiltedLossProbability) / wins
+                    : tiltedLossProbability / losses;
+        }
+        return probabilities;
+    }
+
+    /**
+     * Plays the sessions on the tilted wheel, weighting each ruined one by its likelihood ratio.
+     *
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void gather() throws InvalidBetException {
+        double[] probabilities = tiltedProbabilities();
+        ParallelSimulator.Replica replica = new ParallelSimulator.Replica(PLAYER_TYPE, LAYOUT);
+        replica.simulator.sessionDuration = sessionDuration;
+        replica.simulator.initialStake = initialStake;
+        SessionResult result = new SessionResult();
+
+        ruined = 0;
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        for (int i = 0; i < samples; i++) {
+            RandomSource rng = randomSourceType.create(Seeds.derive(SEED, i));
+            RandomSource playerRng = rng.split();
+            TiltedRandomSource tilted = new TiltedRandomSource(rng, probabilities);
+            replica.wheel.setRandomSource(tilted);
+            replica.player.setRandomSource(playerRng);
+
+            replica.simulator.session(result);
+            double weight = 0;
+            if (result.getDuration() < sessionDuration) {
+                ruined++;
+                weight = tilted.getLikelihoodRatio();
+            }
+
+            count++;
+            double delta = weight - mean;
+            mean += delta / count;
+            m2 += delta * (weight - mean);
+        }
+    }
+
+    /**
+     * @return the estimated probability of ruin on a fair wheel
+     */
+    public double getRuinProbability() {
+        return mean;
+    }
+
+    /**
+     * @return the standard error of the estimated probability
+     */
+    public double getStandardError() {
+        return Math.sqrt(m2 / (count - 1) / count);
+    }
+
+    /**
+     * @return the half-width of the confidence interval of the estimated probability, from the normal approximation
+     */
+    public double getHalfWidth() {
+        return StreamingStatistics.normalQuantile(0.5 + confidence / 2) * getStandardError();
+    }
+
+    /**
+     * @return the number of sessions ruined on the tilted wheel
+     */
+    public long getRuinedSessions() {
+        return ruined;
+    }
+
+    /**
+     * Returns the number of sessions on a fair wheel needed to estimate the ruin probability as precisely as one
+     * session here does: the variance of a single ruin indicator, p(1 - p), over the variance of a session’s weight.
+     *
+     * @return the variance reduction
+     */
+    public double getVarianceReduction() {
+        return mean * (1 - mean) / (m2 / (count - 1));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+
+/**
+ * RunConfiguration is everything which determines the results of a simulation run. Every source of random numbers,
+ * for the wheel and for the Player, is derived from the master seed, and the run is played by a ParallelSimulator,
+ * whose results do not depend on the number of threads. Running the same configuration again therefore gives
+ * identical results, and the RunManifest of a run records its configuration so that it can be.
+ */
+public class RunConfiguration {
+
+    /**
+     * The master seed every source of random numbers is derived from.
+     */
+    public long seed;
+
+    /**
+     * The betting strategy to simulate.
+     */
+    public PlayerType playerType;
+
+    /**
+     * The layout of the wheel. Only the prebuilt layouts can be recorded in a RunManifest.
+     */
+    public WheelLayout layout = WheelLayout.AMERICAN;
+
+    public int sessionDuration = 250;
+
+    public long initialStake = Game.TABLE_MINIMUM * 100;
+
+    public int samples = 50;
+
+    /**
+     * The number of consecutive samples played from one derived seed; see ParallelSimulator.
+     */
+    public int blockSize = 1024;
+
+    public RandomSourceType randomSourceType = RandomSourceType.SPLITTABLE;
+
+    /**
+     * The number of worker threads. This does not affect the results, so it is not recorded in the manifest.
+     */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param playerType the betting strategy to simulate
+     * @param seed       the master seed
+     */
+    public RunConfiguration(PlayerType playerType, long seed) {
+        this.playerType = playerType;
+        this.seed = seed;
+    }
+
+    /**
+     * @return a simulator set up with this configuration, ready to gather
+     */
+    public ParallelSimulator createSimulator() {
+        ParallelSimulator simulator = new ParallelSimulator(playerType, layout, seed);
+        simulator.sessionDuration = sessionDuration;
+        simulator.initialStake = initialStake;
+        simulator.samples = samples;
+        simulator.blockSize = blockSize;
+        simulator.randomSourceType = randomSourceType;
+        simulator.parallelism = parallelism;
+        return simulator;
+    }
+
+    /**
+     * Plays the run.
+     *
+     * @return the manifest of the run, with its results
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public RunManifest run() throws InvalidBetException {
+        ParallelSimulator simulator = createSimulator();
+        simulator.gather();
+        return new RunManifest(this, simulator);
+    }
+}
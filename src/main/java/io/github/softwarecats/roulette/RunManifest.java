@@ -0,0 +1,238 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * RunManifest records how a run was configured, which version of the code played it, and its results. It is written
+ * as lines of key=value properties, to be kept with the results; reading it back gives a RunConfiguration which
+ * reproduces those results exactly.
+ */
+public class RunManifest {
+
+    /**
+     * The version of the code used when it is not run from a packaged jar.
+     */
+    public static final String DEVELOPMENT_VERSION = "development";
+
+    public final long SEED;
+
+    public final PlayerType PLAYER_TYPE;
+
+    /**
+     * The name of the prebuilt layout of the wheel.
+     */
+    public final String LAYOUT;
+
+    public final int SESSION_DURATION;
+
+    public final long INITIAL_STAKE;
+
+    public final int SAMPLES;
+
+    public final int BLOCK_SIZE;
+
+    public final RandomSourceType RANDOM_SOURCE_TYPE;
+
+    /**
+     * The Implementation-Version of the jar the run was played from.
+     */
+    public final String CODE_VERSION;
+
+    public final double MEAN_DURATION;
+
+    public final double STD_DURATION;
+
+    public final double MEAN_MAXIMUM;
+
+    public final double STD_MAXIMUM;
+
+    /**
+     * Records a finished run.
+     *
+     * @param configuration the configuration of the run
+     * @param simulator     the simulator which played it
+     * @throws IllegalArgumentException if the layout is not a prebuilt one
+     */
+    public RunManifest(RunConfiguration configuration, Simulator simulator) {
+        this(configuration.seed, configuration.playerType, layoutName(configuration.layout),
+                configuration.sessionDuration, configuration.initialStake, configuration.samples,
+                configuration.blockSize, configuration.randomSourceType, getCodeVersion(), simulator.meanDuration,
+                simulator.stdDuration, simulator.meanMaximum, simulator.stdMaximum);
+    }
+
+    private RunManifest(long seed, PlayerType playerType, String layout, int sessionDuration, long initialStake,
+                        int samples, int blockSize, RandomSourceType randomSourceType, String codeVersion,
+                        double meanDuration, double stdDuration, double meanMaximum, double stdMaximum) {
+        this.SEED = seed;
+        this.PLAYER_TYPE = playerType;
+        this.LAYOUT = layout;
+        this.SESSION_DURATION = sessionDuration;
+        this.INITIAL_STAKE = initialStake;
+        this.SAMPLES = samples;
+        this.BLOCK_SIZE = blockSize;
+        this.RANDOM_SOURCE_TYPE = randomSourceType;
+        this.CODE_VERSION = codeVersion;
+        this.MEAN_DURATION = meanDuration;
+        this.STD_DURATION = stdDuration;
+        this.MEAN_MAXIMUM = meanMaximum;
+        this.STD_MAXIMUM = stdMaximum;
+    }
+
+    private static String layoutName(WheelLayout layout) {
+        String name = WheelLayout.nameOf(layout);
+        if (name == null) {
+            throw new IllegalArgumentException("Only runs on a prebuilt layout can be reproduced");
+        }
+        return name;
+    }
+
+    /**
+     * @return the Implementation-Version of the packaged jar, or DEVELOPMENT_VERSION when not run from one
+     */
+    public static String getCodeVersion() {
+        String version = RunManifest.class.getPackage().getImplementationVersion();
+        return version == null ? DEVELOPMENT_VERSION : version;
+    }
+
+    /**
+     * @return a configuration which plays this run again
+     */
+    public RunConfiguration getConfiguration() {
+        RunConfiguration configuration = new RunConfiguration(PLAYER_TYPE, SEED);
+        configuration.layout = WheelLayout.forName(LAYOUT);
+        configuration.sessionDuration = SESSION_DURATION;
+        configuration.initialStake = INITIAL_STAKE;
+        configuration.samples = SAMPLES;
+        configuration.blockSize = BLOCK_SIZE;
+        configuration.randomSourceType = RANDOM_SOURCE_TYPE;
+        return configuration;
+    }
+
+    /**
+     * Checks that another run gave exactly the same results as this one.
+     *
+     * @param other the manifest of the other run
+     * @return true if the configurations and results are identical, whatever the versions of the code
+     */
+    public boolean reproduces(RunManifest other) {
+        return SEED == other.SEED && PLAYER_TYPE == other.PLAYER_TYPE && LAYOUT.equals(other.LAYOUT)
+                && SESSION_DURATION == other.SESSION_DURATION && INITIAL_STAKE == other.INITIAL_STAKE
+                && SAMPLES == other.SAMPLES && BLOCK_SIZE == other.BLOCK_SIZE
+                && RANDOM_SOURCE_TYPE == other.RANDOM_SOURCE_TYPE
+                && Double.compare(MEAN_DURATION, other.MEAN_DURATION) == 0
+                && Double.compare(STD_DURATION, other.STD_DURATION) == 0
+                && Double.compare(MEAN_MAXIMUM, other.MEAN_MAXIMUM) == 0
+                && Double.compare(STD_MAXIMUM, other.STD_MAXIMUM) == 0;
+    }
+
+    /**
+     * Writes the manifest as properties.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        Files.write(path, toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a manifest written by write().
+     *
+     * @param path the file to read
+     * @return the manifest
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a property is missing or malformed
+     */
+    public static RunManifest read(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses a manifest from the text written by write() or toString().
+     *
+     * @param text the properties
+     * @return the manifest
+     * @throws IllegalArgumentException if a property is missing or malformed
+     */
+    public static RunManifest parse(String text) {
+        try {
+            return parse(new StringReader(text));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RunManifest parse(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        return new RunManifest(Long.parseLong(get(properties, "seed")),
+                PlayerType.valueOf(get(properties, "strategy")),
+                get(properties, "layout"),
+                Integer.parseInt(get(properties, "sessionDuration")),
+                Long.parseLong(get(properties, "initialStake")),
+                Integer.parseInt(get(properties, "samples")),
+                Integer.parseInt(get(properties, "blockSize")),
+                RandomSourceType.valueOf(get(properties, "randomSource")),
+                get(properties, "codeVersion"),
+                Double.parseDouble(get(properties, "meanDuration")),
+                Double.parseDouble(get(properties, "stdDuration")),
+                Double.parseDouble(get(properties, "meanMaximum")),
+                Double.parseDouble(get(properties, "stdMaximum")));
+    }
+
+    private static String get(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Manifest has no " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Doubles are written in full, so the results read back are bit for bit those of the run.
+     */
+    @Override
+    public String toString() {
+        return "seed=" + SEED + "\n"
+                + "strategy=" + PLAYER_TYPE + "\n"
+                + "layout=" + LAYOUT + "\n"
+                + "sessionDuration=" + SESSION_DURATION + "\n"
+                + "initialStake=" + INITIAL_STAKE + "\n"
+                + "samples=" + SAMPLES + "\n"
+                + "blockSize=" + BLOCK_SIZE + "\n"
+                + "randomSource=" + RANDOM_SOURCE_TYPE + "\n"
+                + "codeVersion=" + CODE_VERSION + "\n"
+                + "meanDuration=" + MEAN_DURATION + "\n"
+                + "stdDuration=" + STD_DURATION + "\n"
+                + "meanMaximum=" + MEAN_MAXIMUM + "\n"
+                + "stdMaximum=" + STD_MAXIMUM + "\n";
+    }
+}
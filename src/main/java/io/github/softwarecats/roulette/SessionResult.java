@@ -0,0 +1,222 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SessionResult summarises one session of play as it is played: its duration, the highest and lowest stakes, the
+ * final stake and the largest drawdown, that is the largest fall of the stake from its highest point so far. None of
+ * these needs any allocation per spin.
+ * <p>
+ * When asked to keep stakes, the stake after every spin is also kept in a long array which grows as needed and is
+ * reused by the next session, so a result can be passed to Simulator.session() again and again.
+ */
+public class SessionResult {
+
+    /**
+     * Whether the stake after every spin is kept.
+     */
+    public final boolean KEEP_STAKES;
+
+    protected long initialStake;
+
+    protected int duration;
+
+    protected long maximum;
+
+    protected long minimum;
+
+    protected long finalStake;
+
+    protected long peak;
+
+    protected long drawdown;
+
+    /**
+     * Whether the session ended because the Player could not place a bet within the table limit.
+     */
+    protected boolean leftAtLimit;
+
+    protected long[] stakes;
+
+    /**
+     * Creates a result which does not keep the stakes of each spin.
+     */
+    public SessionResult() {
+        this(false);
+    }
+
+    /**
+     * @param keepStakes whether the stake after every spin is kept
+     */
+    public SessionResult(boolean keepStakes) {
+        this.KEEP_STAKES = keepStakes;
+        this.stakes = keepStakes ? new long[256] : null;
+    }
+
+    /**
+     * Starts a new session. Any stakes kept from the previous session are discarded.
+     *
+     * @param initialStake the stake the Player starts with
+     */
+    public void reset(long initialStake) {
+        this.initialStake = initialStake;
+        duration = 0;
+        maximum = initialStake;
+        minimum = initialStake;
+        finalStake = initialStake;
+        peak = initialStake;
+        drawdown = 0;
+        leftAtLimit = false;
+    }
+
+    /**
+     * Records that the Player left because a bet was over the table limit.
+     */
+    public void leaveAtLimit() {
+        leftAtLimit = true;
+    }
+
+    /**
+     * @return whether the session ended because the Player could not place a bet within the table limit
+     */
+    public boolean isLeftAtLimit() {
+        return leftAtLimit;
+    }
+
+    /**
+     * Records the stake after a spin.
+     *
+     * @param stake the Player's stake
+     */
+    public void add(long stake) {
+        if (KEEP_STAKES) {
+            if (duration == stakes.length) {
+                stakes = Arrays.copyOf(stakes, duration * 2);
+            }
+            stakes[duration] = stake;
+        }
+
+        if (duration == 0) {
+            maximum = stake;
+            minimum = stake;
+        } else if (stake > maximum) {
+            maximum = stake;
+        } else if (stake < minimum) {
+            minimum = stake;
+        }
+        if (stake > peak) {
+            peak = stake;
+        } else if (peak - stake > drawdown) {
+            drawdown = peak - stake;
+        }
+        finalStake = stake;
+        duration++;
+    }
+
+    /**
+     * @return the number of spins played
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the highest stake after any spin. As the Simulator always has, this is the initial stake when no spin
+     * was played, but not otherwise.
+     *
+     * @return the highest stake
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return the lowest stake after any spin, or the initial stake when no spin was played
+     */
+    public long getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * @return the stake after the last spin
+     */
+    public long getFinalStake() {
+        return finalStake;
+    }
+
+    /**
+     * @return the largest fall of the stake from the highest stake before it, counting the initial stake
+     */
+    public long getDrawdown() {
+        return drawdown;
+    }
+
+    /**
+     * @return the stake the session started with
+     */
+    public long getInitialStake() {
+        return initialStake;
+    }
+
+    /**
+     * @param spin the number of the spin, from zero
+     * @return the stake after that spin
+     * @throws IllegalStateException if stakes are not kept
+     */
+    public long getStake(int spin) {
+        if (!KEEP_STAKES) {
+            throw new IllegalStateException("Stakes are not kept");
+        }
+        if (spin >= duration) {
+            throw new IndexOutOfBoundsException("Spin " + spin + " of " + duration);
+        }
+        return stakes[spin];
+    }
+
+    /**
+     * @return a copy of the stake after every spin
+     * @throws IllegalStateException if stakes are not kept
+     */
+    public long[] getStakes() {
+        if (!KEEP_STAKES) {
+            throw new IllegalStateException("Stakes are not kept");
+        }
+        return Arrays.copyOf(stakes, duration);
+    }
+
+    /**
+     * Returns the stakes as a List, boxing each one. The List is a copy, so it is unaffected by later sessions.
+     *
+     * @return the stake after every spin
+     * @throws IllegalStateException if stakes are not kept
+     */
+    public List<Long> toList() {
+        if (!KEEP_STAKES) {
+            throw new IllegalStateException("Stakes are not kept");
+        }
+        List<Long> list = new ArrayList<>(duration);
+        for (int i = 0; i < duration; i++) {
+            list.add(stakes[i]);
+        }
+        return list;
+    }
+}
@@ -16,7 +16,9 @@
 
 package io.github.softwarecats.roulette;
 
+import io.github.softwarecats.roulette.metrics.SimulationMetrics;
 import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.trace.TraceWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,7 +39,7 @@ public class Simulator {
      * The stake value to use when initializing a Player for a session. This is a count of the number of bets placed;
      * i.e., 100 $10 bets is $1000 stake. A default value of 100 is sensible.
      */
-    public int initialStake = Game.TABLE_MINIMUM * 100;
+    public long initialStake = Game.TABLE_MINIMUM * 100;
 
     /**
      * The number of game cycles to simulate. A default value of 50 makes sense.
@@ -52,17 +54,88 @@ public class Simulator {
 
     public double stdMaximum;
 
+    /**
+     * When true, every duration and maximum is also kept in the durations and maxima lists. This is off by default,
+     * since those lists grow with the number of samples; the statistics above are computed without them.
+     */
+    public boolean keepRawData = false;
+
+    /**
+     * When set, every spin of every session is recorded to this trace. The caller owns the writer and closes it once
+     * gathering is over.
+     */
+    public TraceWriter trace = null;
+
+    /**
+     * When set, every finished session is counted in these metrics. They may be shared between simulators.
+     */
+    public SimulationMetrics metrics = null;
+
+    /**
+     * When true, a Player whose bet is rejected by the table leaves the session instead of the session failing with
+     * an InvalidBetException, as a Martingale player must leave a table with a finite limit.
+     */
+    public boolean leaveAtLimit = false;
+
+    /**
+     * When positive, gather() stops as soon as the confidence intervals of both the mean duration and the mean
+     * maximum are narrower than this, as a fraction of the mean: the half-width of the interval over the mean. The
+     * sample count then becomes a budget which is never exceeded.
+     */
+    public double targetRelativeWidth = 0;
+
+    /**
+     * When positive, gather() stops once this many milliseconds have passed, whatever the precision reached.
+     */
+    public long timeBudget = 0;
+
+    /**
+     * The confidence level of the intervals.
+     */
+    public double confidence = 0.95;
+
+    /**
+     * The number of sessions between precision checks. ParallelSimulator checks after each of its blocks instead.
+     */
+    public int batchSamples = 100;
+
+    /**
+     * The half-widths of the confidence intervals reached, as fractions of the means, and whether they met the target.
+     */
+    public double durationRelativeWidth;
+
+    public double maximumRelativeWidth;
+
+    public boolean converged;
+
+    /**
+     * Running statistics of the lengths of time the Player remained in the game.
+     */
+    protected StreamingStatistics durationStatistics = new StreamingStatistics();
+
+    /**
+     * Running statistics of the maximum stakes of the Player.
+     */
+    protected StreamingStatistics maximumStatistics = new StreamingStatistics();
+
+    /**
+     * Histograms of the durations and maxima, from which their quantiles can be read.
+     */
+    protected IntegerHistogram durationHistogram = new IntegerHistogram();
+
+    protected IntegerHistogram maximumHistogram = new IntegerHistogram();
+
     /**
      * A List of lengths of time the Player remained in the game. Each session of play producrs a duration metric,
-     * which are collected into this list.
+     * which are collected into this list when keepRawData is set.
      */
     protected List<Integer> durations = new ArrayList<>();
 
     /**
      * A List of maximum stakes for each Player. Each session of play producers a maximum stake metric, which
-     * are collected into this list.
+     * are collected into this list when keepRawData is set.
      */
-    protected List<Integer> maxima = new ArrayList<>();
+    protected List<Long> maxima = new ArrayList<>();
 
     /**
      * The Player; essentially, the betting strategy we are simulating.
@@ -92,52 +165,178 @@ public class Simulator {
      * empty List of stake values is created. The session loop executes until the Player playing() returns false.
      * This loop executes the Game cycle(); then it gets the stake from the Player and appends this amount to the
      * List of stake values. The List of individual stake values is returned as the result of the session of play.
+     * <p>
+     * This boxes every stake; gather() uses session(SessionResult) instead.
      *
      * @return list of stake values
      * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
      */
-    public List<Integer> session() throws InvalidBetException {
+    public List<Long> session() throws InvalidBetException {
+        return session(new SessionResult(true)).toList();
+    }
+
+    /**
+     * Executes a single game session into a SessionResult, which is reset first. The duration and the maximum,
+     * minimum and final stakes are tracked as the session is played, and the stake after every spin is kept only if
+     * the result keeps stakes, so the same result can be reused for every session without allocating. If
+     * leaveAtLimit is set, a rejected bet ends the session without counting its cycle.
+     *
+     * @param result the result to reset and fill in
+     * @return the result
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public SessionResult session(SessionResult result) throws InvalidBetException {
         player.stake = initialStake;
         player.roundsToGo = sessionDuration;
         player.newRound();
+        result.reset(initialStake);
+
+        if (trace != null) {
+            trace.startSession();
+        }
 
-        List<Integer> stakeRecords = new ArrayList<>();
         for (int i = 0; i < sessionDuration; i++) {
             if (!player.playing()) {
                 break;
             }
 
-            game.cycle(player);
-            stakeRecords.add(player.stake);
+            if (leaveAtLimit) {
+                try {
+                    game.cycle(player);
+                } catch (InvalidBetException e) {
+                    game.withdrawBets();
+                    result.leaveAtLimit();
+                    break;
+                }
+            } else {
+                game.cycle(player);
+            }
+            result.add(player.stake);
+            if (trace != null) {
+                trace.record(player.stake, game.getLastBetAmount(), game.getLastOutcomeId(), game.getLastBin());
+            }
         }
 
-        return stakeRecords;
+        if (metrics != null) {
+            metrics.sessionCompleted(player.getClass().getSimpleName(), result.getDuration());
+        }
+        return result;
     }
 
     /**
-     * Executes the number of games sessions in samples. Each game session returns a List of stake values. When
-     * the session is over (either the play reached their time limit or their stake was spent), then the length of the session
-     * List and the maximum value in the session List are the resulting duration and maximum metrics. These two
-     * metrics are appended to the durations list and the maxima list.
+     * Executes the number of games sessions in samples, reusing one SessionResult. When each session is over
+     * (either the play reached their time limit or their stake was spent), its duration and maximum stake are added
+     * to the running statistics, and to the durations and maxima lists if keepRawData is set.
+     * <p>
+     * With a target relative width or a time budget, the precision reached is checked every batchSamples sessions,
+     * and gathering stops early once the target is met or the time is spent.
      *
-     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws InvalidBetException      if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws IllegalArgumentException if gathering is adaptive and batchSamples is not positive
      */
     public void gather() throws InvalidBetException {
+        if (isAdaptive() && batchSamples <= 0) {
+            throw new IllegalArgumentException("batchSamples must be positive");
+        }
+        long start = System.nanoTime();
+        SessionResult result = new SessionResult();
         for (int i = 0; i < samples; i++) {
-            List<Integer> sessionResult = session();
+            session(result);
+            record(result.getDuration(), result.getMaximum());
+
+            if (isAdaptive() && (i + 1) % batchSamples == 0 && shouldStop(start)) {
+                break;
+            }
+        }
+
+        summarise();
+    }
+
+    /**
+     * @return whether gathering may stop before the number of samples is reached
+     */
+    protected boolean isAdaptive() {
+        return targetRelativeWidth > 0 || timeBudget > 0;
+    }
+
+    /**
+     * Measures the precision of the statistics gathered so far, and decides whether gathering should stop.
+     *
+     * @param start the System.nanoTime() at which gathering started
+     * @return true if the precision target is met or the time budget spent
+     */
+    protected boolean shouldStop(long start) {
+        measurePrecision();
+        return converged || (timeBudget > 0 && System.nanoTime() - start >= timeBudget * 1_000_000);
+    }
 
-            durations.add(sessionResult.size());
+    /**
+     * Computes the relative widths of the confidence intervals, and whether they meet the target.
+     */
+    protected void measurePrecision() {
+        durationRelativeWidth = durationStatistics.getHalfWidth(confidence) / Math.abs(durationStatistics.getMean());
+        maximumRelativeWidth = maximumStatistics.getHalfWidth(confidence) / Math.abs(maximumStatistics.getMean());
+        converged = targetRelativeWidth > 0 && durationRelativeWidth <= targetRelativeWidth
+                && maximumRelativeWidth <= targetRelativeWidth;
+    }
 
-            maxima.add(sessionResult.stream()
-                    .mapToInt(Integer::intValue)
-                    .max()
-                    .orElse(initialStake));
+    /**
+     * Records the duration and maximum metrics of one session.
+     *
+     * @param duration the number of cycles the session lasted
+     * @param maximum  the maximum stake reached during the session
+     */
+    protected void record(int duration, long maximum) {
+        durationStatistics.add(duration);
+        maximumStatistics.add(maximum);
+        durationHistogram.add(duration);
+        maximumHistogram.add(maximum);
+
+        if (keepRawData) {
+            durations.add(duration);
+            maxima.add(maximum);
         }
+    }
+
+    /**
+     * Copies the mean and standard deviation of the running statistics, and the precision reached, into the public
+     * result fields.
+     */
+    protected void summarise() {
+        measurePrecision();
+
+        meanDuration = durationStatistics.getMean();
+        stdDuration = durationStatistics.getStd();
 
-        meanDuration = IntegerStatistics.mean(durations);
-        stdDuration = IntegerStatistics.std(durations);
+        meanMaximum = maximumStatistics.getMean();
+        stdMaximum = maximumStatistics.getStd();
+    }
 
-        meanMaximum = IntegerStatistics.mean(maxima);
-        stdMaximum = IntegerStatistics.std(maxima);
+    /**
+     * @return the running statistics of the session durations
+     */
+    public StreamingStatistics getDurationStatistics() {
+        return durationStatistics;
+    }
+
+    /**
+     * @return the running statistics of the session maxima
+     */
+    public StreamingStatistics getMaximumStatistics() {
+        return maximumStatistics;
+    }
+
+    /**
+     * @return the histogram of the session durations, for their median, p1, p99 and other quantiles
+     */
+    public IntegerHistogram getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    /**
+     * @return the histogram of the session maxima, for their median, p1, p99 and other quantiles
+     */
+    public IntegerHistogram getMaximumHistogram() {
+        return maximumHistogram;
     }
 }
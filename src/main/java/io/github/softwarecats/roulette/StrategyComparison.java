@@ -0,0 +1,259 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.PermutedRandomSource;
+import io.github.softwarecats.roulette.random.RandomSource;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import io.github.softwarecats.roulette.random.Seeds;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StrategyComparison plays several strategies side by side and estimates how much each one differs from the first,
+ * the baseline, in mean duration and mean maximum stake. Two variance reduction techniques make the differences
+ * far less noisy than those of separate Simulator runs:
+ * <ul>
+ * <li>With common random numbers, session i of every strategy is played from the same seed, so every strategy
+ * meets the same spins, and the differences between the strategies are not swamped by the luck of the wheel.</li>
+ * <li>With antithetic sessions, sessions are played in pairs from one seed, the second on the antithetic bins of
+ * the first, where every even money bet which won loses; a lucky session is then paired with an unlucky one.</li>
+ * </ul>
+ * A unit is a session, or a pair of sessions when they are antithetic. The variance reduction reported is the
+ * number of independent sessions per strategy needed to estimate a mean, or a difference, as precisely as one
+ * session played here does.
+ */
+public class StrategyComparison {
+
+    public int sessionDuration = 250;
+
+    public long initialStake = Game.TABLE_MINIMUM * 100;
+
+    /**
+     * The number of sessions of each strategy. With antithetic sessions an odd number is rounded up.
+     */
+    public int samples = 1000;
+
+    public RandomSourceType randomSourceType = RandomSourceType.SPLITTABLE;
+
+    /**
+     * Whether every strategy plays session i from the same seed.
+     */
+    public boolean commonRandomNumbers = true;
+
+    /**
+     * Whether sessions are played in antithetic pairs.
+     */
+    public boolean antithetic = false;
+
+    protected final List<PlayerType> PLAYER_TYPES;
+
+    protected final WheelLayout LAYOUT;
+
+    protected final long SEED;
+
+    /**
+     * The durations and maxima of the sessions of each strategy.
+     */
+    protected StreamingStatistics[] durationStatistics;
+
+    protected StreamingStatistics[] maximumStatistics;
+
+    /**
+     * The sums of the durations and maxima of each unit of each strategy.
+     */
+    protected StreamingStatistics[] durationUnits;
+
+    protected StreamingStatistics[] maximumUnits;
+
+    /**
+     * The differences between the unit sums of each strategy and those of the baseline.
+     */
+    protected StreamingStatistics[] durationDifferences;
+
+    protected StreamingStatistics[] maximumDifferences;
+
+    /**
+     * @param layout      the frozen layout of the wheel
+     * @param seed        the master seed
+     * @param playerTypes the strategies to compare, the first being the baseline
+     */
+    public StrategyComparison(WheelLayout layout, long seed, PlayerType... playerTypes) {
+        if (playerTypes.length == 0) {
+            throw new IllegalArgumentException("No strategies to compare");
+        }
+        this.LAYOUT = layout;
+        this.SEED = seed;
+        this.PLAYER_TYPES = Arrays.asList(playerTypes.clone());
+    }
+
+    /**
+     * Plays the sessions of every strategy, unit by unit.
+     *
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void gather() throws InvalidBetException {
+        int strategies = PLAYER_TYPES.size();
+        int sessionsPerUnit = antithetic ? 2 : 1;
+        int units = (samples + sessionsPerUnit - 1) / sessionsPerUnit;
+        int[] antitheticBins = antithetic ? LAYOUT.getAntitheticBins() : null;
+
+        ParallelSimulator.Replica[] replicas = new ParallelSimulator.Replica[strategies];
+        durationStatistics = new StreamingStatistics[strategies];
+        maximumStatistics = new StreamingStatistics[strategies];
+        durationUnits = new StreamingStatistics[strategies];
+        maximumUnits = new StreamingStatistics[strategies];
+        durationDifferences = new StreamingStatistics[strategies];
+        maximumDifferences = new StreamingStatistics[strategies];
+        for (int s = 0; s < strategies; s++) {
+            replicas[s] = new ParallelSimulator.Replica(PLAYER_TYPES.get(s), LAYOUT);
+            replicas[s].simulator.sessionDuration = sessionDuration;
+            replicas[s].simulator.initialStake = initialStake;
+            durationStatistics[s] = new StreamingStatistics();
+            maximumStatistics[s] = new StreamingStatistics();
+            durationUnits[s] = new StreamingStatistics();
+            maximumUnits[s] = new StreamingStatistics();
+            durationDifferences[s] = new StreamingStatistics();
+            maximumDifferences[s] = new StreamingStatistics();
+        }
+
+        SessionResult result = new SessionResult();
+        int[] durationSums = new int[strategies];
+        long[] maximumSums = new long[strategies];
+        for (int unit = 0; unit < units; unit++) {
+            for (int s = 0; s < strategies; s++) {
+                long seed = commonRandomNumbers ? Seeds.derive(SEED, unit) : Seeds.derive(Seeds.derive(SEED, s), unit);
+                durationSums[s] = 0;
+                maximumSums[s] = 0;
+
+                for (int k = 0; k < sessionsPerUnit; k++) {
+                    // Both sessions of a pair draw the same numbers, the second through the antithetic bins
+                    RandomSource rng = randomSourceType.create(seed);
+                    RandomSource playerRng = rng.split();
+                    replicas[s].wheel.setRandomSource(k == 0 ? rng : new PermutedRandomSource(rng, antitheticBins));
+                    replicas[s].player.setRandomSource(playerRng);
+
+                    replicas[s].simulator.session(result);
+                    durationStatistics[s].add(result.getDuration());
+                    maximumStatistics[s].add(result.getMaximum());
+                    durationSums[s] += result.getDuration();
+                    maximumSums[s] += result.getMaximum();
+                }
+
+                durationUnits[s].add(durationSums[s]);
+                maximumUnits[s].add(maximumSums[s]);
+                durationDifferences[s].add(durationSums[s] - durationSums[0]);
+                maximumDifferences[s].add(maximumSums[s] - maximumSums[0]);
+            }
+        }
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the statistics of the durations of its sessions
+     */
+    public StreamingStatistics getDurationStatistics(int strategy) {
+        return durationStatistics[strategy];
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the statistics of the maxima of its sessions
+     */
+    public StreamingStatistics getMaximumStatistics(int strategy) {
+        return maximumStatistics[strategy];
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the mean duration of the strategy less that of the baseline
+     */
+    public double getDurationDifference(int strategy) {
+        return durationDifferences[strategy].getMean() / sessionsPerUnit();
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the mean maximum of the strategy less that of the baseline
+     */
+    public double getMaximumDifference(int strategy) {
+        return maximumDifferences[strategy].getMean() / sessionsPerUnit();
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the standard error of the duration difference
+     */
+    public double getDurationDifferenceError(int strategy) {
+        return standardError(durationDifferences[strategy]);
+    }
+
+    /**
+     * @param strategy the index of the strategy
+     * @return the standard error of the maximum difference
+     */
+    public double getMaximumDifferenceError(int strategy) {
+        return standardError(maximumDifferences[strategy]);
+    }
+
+    /**
+     * Returns the variance reduction of the estimate of the difference in mean duration from the baseline, or of the
+     * baseline’s own mean duration for the baseline itself.
+     *
+     * @param strategy the index of the strategy
+     * @return the variance of the estimate from independent sessions over the variance of this one
+     */
+    public double getDurationReduction(int strategy) {
+        return reduction(strategy, durationStatistics, durationUnits, durationDifferences);
+    }
+
+    /**
+     * Returns the variance reduction of the estimate of the difference in mean maximum from the baseline, or of the
+     * baseline’s own mean maximum for the baseline itself.
+     *
+     * @param strategy the index of the strategy
+     * @return the variance of the estimate from independent sessions over the variance of this one
+     */
+    public double getMaximumReduction(int strategy) {
+        return reduction(strategy, maximumStatistics, maximumUnits, maximumDifferences);
+    }
+
+    private int sessionsPerUnit() {
+        return antithetic ? 2 : 1;
+    }
+
+    private double standardError(StreamingStatistics units) {
+        return Math.sqrt(units.getVariance() / units.getCount()) / sessionsPerUnit();
+    }
+
+    /**
+     * With k sessions per unit, a unit sum U estimates k times the mean, so n sessions in n / k units estimate it with
+     * variance var(U) / (k n), against var(X) / n for n independent sessions.
+     */
+    private double reduction(int strategy, StreamingStatistics[] sessions, StreamingStatistics[] units,
+                             StreamingStatistics[] differences) {
+        int k = sessionsPerUnit();
+        if (strategy == 0) {
+            return sessions[0].getVariance() * k / units[0].getVariance();
+        }
+        double independent = sessions[strategy].getVariance() + sessions[0].getVariance();
+        return independent * k / differences[strategy].getVariance();
+    }
+}
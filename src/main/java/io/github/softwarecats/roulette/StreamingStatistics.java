@@ -0,0 +1,199 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette;
+
+/**
+ * StreamingStatistics accumulates simple descriptive statistics of integer values one value at a time, using
+ * Welford’s online algorithm. Unlike IntegerStatistics, the values themselves are not kept, so the memory used is
+ * constant however many values are added.
+ * <p>
+ * Two accumulators may be merged with combine(), which gives the same statistics as if every value had been added to
+ * a single accumulator. This allows values gathered on separate threads to be summarised together.
+ */
+public class StreamingStatistics {
+
+    /**
+     * The number of values added.
+     */
+    protected long count;
+
+    /**
+     * The mean of the values added.
+     */
+    protected double mean;
+
+    /**
+     * The sum of squared differences from the mean of the values added.
+     */
+    protected double m2;
+
+    /**
+     * The smallest value added.
+     */
+    protected long min = Long.MAX_VALUE;
+
+    /**
+     * The largest value added.
+     */
+    protected long max = Long.MIN_VALUE;
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value the value to add
+     */
+    public void add(long value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Merges the values summarised by another accumulator into this one, using Chan’s pairwise update.
+     *
+     * @param other the accumulator to merge into this one
+     * @return this accumulator
+     */
+    public StreamingStatistics combine(StreamingStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return this;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * @return the number of values added
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean of the values added
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the sample variance, dividing by one less than the number of values as IntegerStatistics does.
+     *
+     * @return the sample variance of the values added
+     */
+    public double getVariance() {
+        return m2 / (count - 1);
+    }
+
+    /**
+     * @return the sample standard deviation of the values added
+     */
+    public double getStd() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return the smallest value added
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return the largest value added
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the half-width of a confidence interval for the mean, from the normal approximation to the distribution
+     * of the mean. This is sound for the hundreds of values a simulation gathers, not for a handful.
+     *
+     * @param confidence the confidence level, such as 0.95
+     * @return the half-width of the interval, or infinity with fewer than two values
+     */
+    public double getHalfWidth(double confidence) {
+        if (count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return normalQuantile(0.5 + confidence / 2) * Math.sqrt(getVariance() / count);
+    }
+
+    /**
+     * Computes the quantile function of the standard normal distribution with Acklam’s rational approximation,
+     * which has a relative error below 1.15e-9.
+     *
+     * @param p the probability, strictly between 0 and 1
+     * @return the value the standard normal distribution is below with probability p
+     */
+    public static double normalQuantile(double p) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("p must be strictly between 0 and 1");
+        }
+
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if (p > 1 - 0.02425) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + getMean() + ", std=" + getStd() + ", min=" + min + ", max=" + max;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import java.util.Arrays;
+
+/**
+ * TDigest is a merging t-digest, Dunning’s sketch of the distribution of real values. Values are summarised by
+ * weighted centroids, small near the tails and large near the median, so that extreme quantiles such as p0.1 or
+ * p99.9 are estimated far more accurately than the middle ones. Unlike IntegerHistogram it needs no bound on the
+ * values, which may be negative or fractional, at the cost of an error which depends on the data rather than a
+ * guaranteed one.
+ * <p>
+ * Values are buffered and merged into the centroids when the buffer is full. The number of centroids is bounded by
+ * about the compression, so the memory used is fixed. Digests can be combined, for example across threads.
+ */
+public class TDigest {
+
+    /**
+     * The default compression, which keeps about a hundred centroids.
+     */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    protected final double COMPRESSION;
+
+    /**
+     * The centroids, in order of their means.
+     */
+    protected double[] means;
+
+    protected double[] weights;
+
+    protected int centroids;
+
+    /**
+     * The values added since the last merge, each of weight one.
+     */
+    protected final double[] buffer;
+
+    protected int buffered;
+
+    protected double totalWeight;
+
+    protected double min = Double.POSITIVE_INFINITY;
+
+    protected double max = Double.NEGATIVE_INFINITY;
+
+    private double[] mergedMeans;
+
+    private double[] mergedWeights;
+
+    /**
+     * Creates an empty digest of the default compression.
+     */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an empty digest.
+     *
+     * @param compression the compression; larger values keep more centroids and give more accurate quantiles
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Compression must be at least 10");
+        }
+        this.COMPRESSION = compression;
+        int capacity = (int) Math.ceil(compression) * 2 + 8;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.buffer = new double[capacity * 5];
+    }
+
+    /**
+     * Adds a value to the digest.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN");
+        }
+        if (buffered == buffer.length) {
+            flush();
+        }
+        buffer[buffered++] = value;
+        totalWeight++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges the centroids of another digest into this one. The other digest is flushed but otherwise unchanged.
+     *
+     * @param other the digest to merge into this one
+     * @return this digest
+     */
+    public TDigest combine(TDigest other) {
+        other.flush();
+        flush();
+        if (other.centroids > 0) {
+            totalWeight += other.totalWeight;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            merge(other.means, other.weights, other.centroids);
+        }
+        return this;
+    }
+
+    /**
+     * Merges the buffered values into the centroids.
+     */
+    protected void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        merge(buffer, null, buffered);
+        buffered = 0;
+    }
+
+    /**
+     * Merges a sorted run of weighted points into the centroids, and compresses the result: a sweep in order of
+     * mean joins each point to the current centroid for as long as the centroid stays within one unit of the scale
+     * function k(q) = compression / π · asin(2q − 1), which is steepest at the tails.
+     *
+     * @param pointMeans   the points, in order
+     * @param pointWeights their weights, or null for weights of one
+     * @param points       the number of points
+     */
+    private void merge(double[] pointMeans, double[] pointWeights, int points) {
+        int capacity = centroids + points;
+        if (mergedMeans == null || mergedMeans.length < capacity) {
+            mergedMeans = new double[Math.max(capacity, means.length)];
+            mergedWeights = new double[mergedMeans.length];
+        }
+
+        double total = 0;
+        for (int i = 0; i < centroids; i++) {
+            total += weights[i];
+        }
+        for (int i = 0; i < points; i++) {
+            total += pointWeights == null ? 1 : pointWeights[i];
+        }
+
+        int merged = 0;
+        double weightSoFar = 0;
+        double limit = total * quantileOf(scaleOf(0) + 1);
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < points) {
+            double mean;
+            double weight;
+            if (j == points || (i < centroids && means[i] <= pointMeans[j])) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = pointMeans[j];
+                weight = pointWeights == null ? 1 : pointWeights[j];
+                j++;
+            }
+
+            if (merged > 0 && weightSoFar + mergedWeights[merged - 1] + weight <= limit) {
+                double combined = mergedWeights[merged - 1] + weight;
+                mergedMeans[merged - 1] += (mean - mergedMeans[merged - 1]) * weight / combined;
+                mergedWeights[merged - 1] = combined;
+            } else {
+                if (merged > 0) {
+                    weightSoFar += mergedWeights[merged - 1];
+                    limit = total * quantileOf(scaleOf(weightSoFar / total) + 1);
+                }
+                mergedMeans[merged] = mean;
+                mergedWeights[merged] = weight;
+                merged++;
+            }
+        }
+
+        // Swap the merged centroids in, keeping the old arrays for the next merge
+        double[] swap = means;
+        means = mergedMeans;
+        mergedMeans = swap;
+        swap = weights;
+        weights = mergedWeights;
+        mergedWeights = swap;
+        centroids = merged;
+    }
+
+    private double scaleOf(double q) {
+        return COMPRESSION / Math.PI * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    private double quantileOf(double k) {
+        if (k >= COMPRESSION / 2) {
+            return 1;
+        }
+        return (Math.sin(k * Math.PI / COMPRESSION) + 1) / 2;
+    }
+
+    /**
+     * Estimates a quantile by interpolating between the centres of the centroids, and between the extreme
+     * centroids and the minimum and maximum.
+     *
+     * @param quantile the fraction, from 0 for the minimum to 1 for the maximum
+     * @return the estimated value at the quantile, or NaN if the digest is empty
+     */
+    public double getQuantile(double quantile) {
+        flush();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (quantile <= 0) {
+            return min;
+        } else if (quantile >= 1) {
+            return max;
+        } else if (centroids == 1) {
+            return means[0];
+        }
+
+        double target = quantile * totalWeight;
+        double cumulative = weights[0] / 2;
+        if (target < cumulative) {
+            return min + (means[0] - min) * target / cumulative;
+        }
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (target < cumulative + step) {
+                return means[i] + (means[i + 1] - means[i]) * (target - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        double last = weights[centroids - 1] / 2;
+        return Math.min(max, means[centroids - 1] + (max - means[centroids - 1]) * (target - cumulative) / last);
+    }
+
+    /**
+     * @return the number of values added
+     */
+    public long getCount() {
+        return (long) totalWeight;
+    }
+
+    /**
+     * @return the number of centroids, once the buffered values are merged
+     */
+    public int getCentroidCount() {
+        flush();
+        return centroids;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
@@ -16,31 +16,59 @@
 
 package io.github.softwarecats.roulette;
 
-import java.util.LinkedList;
+import io.github.softwarecats.roulette.player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ListIterator;
 
 /**
- * Table contains all the Bet s created by the Player. A table also has a betting limit, and the sum of all of a player’s
- * bets must be less than or equal to this limit. We assume a single Player in the simulation.
+ * Table contains all the Bet s created by the Players. A table also has a betting limit, and the sum of all of a
+ * player’s bets must be less than or equal to this limit. Several Players may share a table, each held to the limit
+ * on their own bets.
  */
 public class Table {
 
     public final Wheel WHEEL;
 
     /**
-     * This is a list of the Bets currently active. These will result in either wins or losses to the Player.
+     * This is a list of the Bets currently active. These will result in either wins or losses to the Player. It is an
+     * array-backed list which keeps its capacity when cleared, so placing bets round after round allocates nothing.
      */
-    private final LinkedList<Bet> BETS = new LinkedList<>();
+    private final ArrayList<Bet> BETS = new ArrayList<>(16);
 
     /**
      * This is the table limit. The sum of the bets from a Player must be less than or equal to this limit.
      */
-    private final int LIMIT;
+    private final long LIMIT;
 
     /**
      * This is the table minimum. Each individual bet from a Player must be greater than this limit.
      */
-    private final int MINIMUM;
+    private final long MINIMUM;
+
+    /**
+     * The odds this table pays on each kind of bet.
+     */
+    private final PayoutSchedule PAYOUTS;
+
+    /**
+     * The sum of the amounts of the bets on the table, kept up to date as bets are placed and removed so that the
+     * limit can be checked without summing the bets. A bet which would take a total past Long.MAX_VALUE is over any
+     * limit.
+     */
+    private long total;
+
+    /**
+     * The Players with bets on the table, and the running total of each one’s bets. A table seats few Players, so
+     * these are searched linearly; they keep their capacity when the table is cleared. Bets without a parent are
+     * totalled under null.
+     */
+    private Player[] owners = new Player[8];
+
+    private long[] ownerTotals = new long[8];
+
+    private int ownerCount;
 
     /**
      * Instantiates a new Table.
@@ -50,44 +78,75 @@ public class Table {
         this(wheel, Game.TABLE_LIMIT, Game.TABLE_MINIMUM);
     }
 
-    public Table(Wheel wheel, int limit, int minimum) {
+    /**
+     * Instantiates a new Table which pays the odds listed in the layout of its wheel.
+     *
+     * @param wheel   the Wheel the bets are resolved by
+     * @param limit   the most a Player may have bet at once
+     * @param minimum the least amount of a bet
+     */
+    public Table(Wheel wheel, long limit, long minimum) {
+        this(wheel, limit, minimum, new PayoutSchedule());
+    }
+
+    /**
+     * Instantiates a new Table which pays its own odds.
+     *
+     * @param wheel   the Wheel the bets are resolved by
+     * @param limit   the most a Player may have bet at once
+     * @param minimum the least amount of a bet
+     * @param payouts the odds paid on each kind of bet
+     */
+    public Table(Wheel wheel, long limit, long minimum, PayoutSchedule payouts) {
         this.WHEEL = wheel;
         this.LIMIT = limit;
         this.MINIMUM = minimum;
+        this.PAYOUTS = payouts;
     }
 
     /**
      * Validates the table-limit rules:
      * The sum of all bets is less than or equal to the table limit.
      * All bet amounts are greater than or equal to the table minimum.
+     * placeBet() enforces these rules as each bet arrives, so this full check is only needed after bets have been
+     * changed where they lie. The running totals are recounted from the bets in a single pass, which also brings them
+     * back up to date.
      *
      * @throws InvalidBetException if the bets don’t pass the table limit rules
      */
     public void validate() throws InvalidBetException {
-        // Minimum check
-        for (Bet bet : BETS) {
-            if (bet.amountBet < MINIMUM) {
-                throw new InvalidBetException();
-            }
-        }
+        total = 0;
+        Arrays.fill(owners, 0, ownerCount, null);
+        ownerCount = 0;
 
-        // Maximum check
-        int sum = 0;
-        for (Bet bet : BETS) {
-            sum += bet.amountBet;
+        // Every bet is counted, even after an invalid one, so that the totals are whole
+        boolean valid = true;
+        for (int i = 0; i < BETS.size(); i++) {
+            Bet bet = BETS.get(i);
+            int owner = owner(bet.parent);
+            ownerTotals[owner] = Money.add(ownerTotals[owner], bet.amountBet);
+            total = Money.add(total, bet.amountBet);
+            valid &= bet.amountBet >= MINIMUM && ownerTotals[owner] <= LIMIT;
         }
-        if (sum > LIMIT) {
+        if (!valid) {
             throw new InvalidBetException();
         }
     }
 
     /**
-     * Adds this bet to the list of working bets.
+     * Adds this bet to the list of working bets. The bet is checked against the table minimum, and against the limit
+     * using the running total of the bets already placed, so placing a bet takes constant time. A rejected bet is
+     * neither added nor taken from the Player’s stake.
      *
      * @param bet a Bet instance to be added to the table
      * @throws InvalidBetException if the bets don’t pass the table limit rules
      */
     public void placeBet(Bet bet) throws InvalidBetException {
+        int owner = owner(bet.parent);
+        if (bet.amountBet < MINIMUM || Money.add(ownerTotals[owner], bet.amountBet) > LIMIT) {
+            throw new InvalidBetException();
+        }
+
         if (bet.parent != null) {
             if (bet.parent.stake >= bet.amountBet) {
                 bet.parent.stake -= bet.amountBet;
@@ -96,18 +155,163 @@ public class Table {
             }
         }
 
+        if (bet.resolvedWheel != WHEEL || bet.resolvedOutcome != bet.outcome) {
+            bet.outcomeId = WHEEL.getOutcomeId(bet.outcome);
+            bet.resolvedWheel = WHEEL;
+            bet.resolvedOutcome = bet.outcome;
+        }
+        bet.odds = PAYOUTS.getOdds(WHEEL.getLayout(), bet.outcomeId);
+
         BETS.add(bet);
+        adjust(owner, bet.amountBet);
+    }
+
+    /**
+     * @return the odds this table pays on each kind of bet
+     */
+    public PayoutSchedule getPayouts() {
+        return PAYOUTS;
+    }
+
+    /**
+     * Finds the running total of a Player, starting one if the Player has no bets on the table yet.
+     *
+     * @param player the Player, or null
+     * @return the index of the Player’s total
+     */
+    private int owner(Player player) {
+        for (int i = 0; i < ownerCount; i++) {
+            if (owners[i] == player) {
+                return i;
+            }
+        }
+
+        if (ownerCount == owners.length) {
+            owners = Arrays.copyOf(owners, 2 * ownerCount);
+            ownerTotals = Arrays.copyOf(ownerTotals, 2 * ownerCount);
+        }
+        owners[ownerCount] = player;
+        ownerTotals[ownerCount] = 0;
+        return ownerCount++;
+    }
 
-        validate();
+    private void adjust(int owner, long amount) {
+        ownerTotals[owner] += amount;
+        total += amount;
     }
 
     /**
-     * Returns a ListIterator over the available list of Bet instances.
+     * Returns a ListIterator over the available list of Bet instances. Bets removed, replaced or added through the
+     * iterator are reflected in the running total; they are not checked against the table rules.
      *
      * @return iterator over all bets
      */
     public ListIterator<Bet> iterator() {
-        return BETS.listIterator();
+        ListIterator<Bet> bets = BETS.listIterator();
+        return new ListIterator<>() {
+
+            private Bet last;
+
+            @Override
+            public boolean hasNext() {
+                return bets.hasNext();
+            }
+
+            @Override
+            public Bet next() {
+                return last = bets.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return bets.hasPrevious();
+            }
+
+            @Override
+            public Bet previous() {
+                return last = bets.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                return bets.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return bets.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                bets.remove();
+                adjust(owner(last.parent), -last.amountBet);
+                last = null;
+            }
+
+            @Override
+            public void set(Bet bet) {
+                bets.set(bet);
+                adjust(owner(last.parent), -last.amountBet);
+                adjust(owner(bet.parent), bet.amountBet);
+                last = bet;
+            }
+
+            @Override
+            public void add(Bet bet) {
+                bets.add(bet);
+                adjust(owner(bet.parent), bet.amountBet);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * @return the sum of the amounts of the bets on the table
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param player a Player
+     * @return the sum of the amounts of the Player’s bets on the table
+     */
+    public long getTotal(Player player) {
+        for (int i = 0; i < ownerCount; i++) {
+            if (owners[i] == player) {
+                return ownerTotals[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of bets on the table
+     */
+    public int size() {
+        return BETS.size();
+    }
+
+    /**
+     * Returns a bet by its position on the table. Together with size(), this lets the Game walk the bets without
+     * creating an iterator.
+     *
+     * @param index the position of the bet, in the order the bets were placed
+     * @return the bet at that position
+     */
+    public Bet getBet(int index) {
+        return BETS.get(index);
+    }
+
+    /**
+     * Removes all bets from the table.
+     */
+    public void clear() {
+        BETS.clear();
+        total = 0;
+        Arrays.fill(owners, 0, ownerCount, null);
+        ownerCount = 0;
     }
 
     /**
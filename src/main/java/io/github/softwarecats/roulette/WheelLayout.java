@@ -0,0 +1,421 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.casino.event.Outcome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WheelLayout is the arrangement of a Roulette wheel: its bins, the Outcomes in each Bin, the dense ids and bin masks
+ * of the Outcomes, and the registry of Outcomes by name and category. A Wheel is a layout plus a source of random
+ * numbers.
+ * <p>
+ * A layout is filled by BinBuilder and may then be frozen, after which it can no longer be changed and may be shared
+ * by any number of Wheels on any number of threads. The AMERICAN, EUROPEAN and FRENCH constants are built and frozen
+ * once, so a replica of a simulation needs no BinBuilder of its own.
+ */
+public class WheelLayout {
+
+    /**
+     * The American wheel of 38 bins, with zero and double zero.
+     */
+    public static final WheelLayout AMERICAN = prebuilt(38, false);
+
+    /**
+     * The European wheel of 37 bins, with a single zero.
+     */
+    public static final WheelLayout EUROPEAN = prebuilt(37, false);
+
+    /**
+     * The European wheel played with the French la partage rule: when zero is spun, even money bets lose only half
+     * their amount. Amounts are whole units, so the half returned is rounded down. The en prison alternative, in
+     * which the bet is held for the next spin, is not modelled.
+     */
+    public static final WheelLayout FRENCH = prebuilt(37, true);
+
+    /**
+     * Whether la partage applies to even money bets when zero is spun.
+     */
+    public final boolean LA_PARTAGE;
+
+    protected final Map<String, Outcome> ALL_OUTCOMES = new HashMap<>();
+
+    /**
+     * Gives every distinct Outcome on the wheel a dense integer id, in the order the Outcomes were first added.
+     */
+    protected final Map<Outcome, Integer> OUTCOME_IDS = new HashMap<>();
+
+    /**
+     * The bins each Outcome wins in, indexed by Outcome id. Bit n of a mask is set when the Outcome is in Bin n.
+     */
+    protected long[] binMasks = new long[64];
+
+    /**
+     * The category of each Outcome registered with one, indexed by Outcome id.
+     */
+    protected OutcomeCategory[] categories = new OutcomeCategory[64];
+
+    /**
+     * The whole number odds of each Outcome, indexed by Outcome id, or -1 for an Outcome whose odds are not a whole
+     * number. They are read from the Outcome once, when it is added, so that a bet is settled with no call to
+     * Outcome.winAmount().
+     */
+    protected int[] odds = new int[64];
+
+    /**
+     * The Outcomes registered by name and category by BinBuilder.
+     */
+    protected final OutcomeRegistry REGISTRY = new OutcomeRegistry();
+
+    /**
+     * Contains the individual Bin instances.
+     */
+    protected final List<Bin> BINS;
+
+    /**
+     * The results of getOutcomes(), by queried name. Adding a new Outcome discards them.
+     */
+    private final Map<String, List<Outcome>> outcomeCache = new ConcurrentHashMap<>();
+
+    private volatile boolean frozen;
+
+    /**
+     * Creates an empty layout without la partage.
+     *
+     * @param bins the number of bins, 38 for a wheel with double zero and 37 without
+     */
+    public WheelLayout(int bins) {
+        this(bins, false);
+    }
+
+    /**
+     * Creates an empty layout.
+     *
+     * @param bins      the number of bins, 38 for a wheel with double zero and 37 without
+     * @param laPartage whether la partage applies to even money bets when zero is spun
+     */
+    public WheelLayout(int bins, boolean laPartage) {
+        if (bins < 1 || bins > Long.SIZE) {
+            throw new IllegalArgumentException("A layout has between 1 and 64 bins");
+        }
+
+        List<Bin> list = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            list.add(new Bin(i));
+        }
+        this.BINS = Collections.unmodifiableList(list);
+        this.LA_PARTAGE = laPartage;
+    }
+
+    private static WheelLayout prebuilt(int bins, boolean laPartage) {
+        WheelLayout layout = new WheelLayout(bins, laPartage);
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(layout);
+        layout.freeze();
+        return layout;
+    }
+
+    /**
+     * Looks up one of the prebuilt layouts by the name of its constant.
+     *
+     * @param name AMERICAN, EUROPEAN or FRENCH
+     * @return the prebuilt layout
+     * @throws IllegalArgumentException if there is no prebuilt layout of that name
+     */
+    public static WheelLayout forName(String name) {
+        switch (name) {
+            case "AMERICAN":
+                return AMERICAN;
+            case "EUROPEAN":
+                return EUROPEAN;
+            case "FRENCH":
+                return FRENCH;
+            default:
+                throw new IllegalArgumentException("No prebuilt layout named " + name);
+        }
+    }
+
+    /**
+     * @param layout a layout
+     * @return the name of the constant of a prebuilt layout, or null for any other layout
+     */
+    public static String nameOf(WheelLayout layout) {
+        if (layout == AMERICAN) {
+            return "AMERICAN";
+        } else if (layout == EUROPEAN) {
+            return "EUROPEAN";
+        } else if (layout == FRENCH) {
+            return "FRENCH";
+        }
+        return null;
+    }
+
+    /**
+     * Forbids any further change to this layout or its bins, so that it can be shared between threads.
+     *
+     * @return this layout
+     */
+    public WheelLayout freeze() {
+        for (Bin bin : BINS) {
+            bin.freeze();
+        }
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * @return true if this layout can no longer be changed
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * @return the number of bins
+     */
+    public int size() {
+        return BINS.size();
+    }
+
+    /**
+     * @return true if this layout has a double zero bin
+     */
+    public boolean hasDoubleZero() {
+        return BINS.size() == 38;
+    }
+
+    /**
+     * Adds the given Outcome to the Bin with the given number.
+     *
+     * @param bin     bin number
+     * @param outcome the Outcome to add to this Bin
+     * @throws UnsupportedOperationException if this layout is frozen
+     */
+    public void addOutcome(int bin, Outcome outcome) {
+        if (frozen) {
+            throw new UnsupportedOperationException("Layout is frozen");
+        }
+
+        // Update Bin
+        BINS.get(bin).add(outcome);
+
+        // Update Map of all possible Outcomes
+        if (ALL_OUTCOMES.put(outcome.toString(), outcome) == null) {
+            outcomeCache.clear();
+        }
+
+        // Update the Bin mask of the Outcome
+        int id = OUTCOME_IDS.computeIfAbsent(outcome, key -> OUTCOME_IDS.size());
+        if (id == binMasks.length) {
+            binMasks = Arrays.copyOf(binMasks, 2 * binMasks.length);
+            categories = Arrays.copyOf(categories, 2 * categories.length);
+            odds = Arrays.copyOf(odds, 2 * odds.length);
+        }
+        if (binMasks[id] == 0) {
+            odds[id] = oddsOf(outcome);
+        }
+        binMasks[id] |= 1L << bin;
+    }
+
+    private static int oddsOf(Outcome outcome) {
+        double won = outcome.winAmount(1).doubleValue();
+        return won >= 0 && won <= Integer.MAX_VALUE && won == Math.rint(won) ? (int) won : -1;
+    }
+
+    /**
+     * Adds the given Outcome to the Bin with the given number, and registers it under its name and category.
+     *
+     * @param bin      bin number
+     * @param name     the name of the Outcome
+     * @param category the kind of bet
+     * @param outcome  the Outcome to add to this Bin
+     * @throws UnsupportedOperationException if this layout is frozen
+     */
+    public void addOutcome(int bin, String name, OutcomeCategory category, Outcome outcome) {
+        addOutcome(bin, outcome);
+        REGISTRY.register(name, category, outcome);
+        categories[OUTCOME_IDS.get(outcome)] = category;
+    }
+
+    /**
+     * @param bin bin number
+     * @return the requested Bin
+     */
+    public Bin getBin(int bin) {
+        return BINS.get(bin);
+    }
+
+    /**
+     * @return an unmodifiable view of every Outcome, keyed by its string representation
+     */
+    public Map<String, Outcome> getAllOutcomes() {
+        return Collections.unmodifiableMap(ALL_OUTCOMES);
+    }
+
+    /**
+     * @param outcome the Outcome to look up
+     * @return the id of the Outcome, or -1 if it is not in any Bin of this layout
+     */
+    public int getOutcomeId(Outcome outcome) {
+        Integer id = OUTCOME_IDS.get(outcome);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param outcomeId the id of the Outcome
+     * @return the bin mask of the Outcome
+     */
+    public long getBinMask(int outcomeId) {
+        return binMasks[outcomeId];
+    }
+
+    /**
+     * @param outcomeId the id of the Outcome
+     * @return the category the Outcome was registered with, or null if it was added without one
+     */
+    public OutcomeCategory getCategory(int outcomeId) {
+        return outcomeId < 0 ? null : categories[outcomeId];
+    }
+
+    /**
+     * @param outcomeId the id of the Outcome
+     * @return the odds of the Outcome, or -1 if they are not a whole number
+     */
+    public int getOdds(int outcomeId) {
+        return odds[outcomeId];
+    }
+
+    /**
+     * @param outcomeId the id of the Outcome, or -1 for an Outcome which is not in this layout
+     * @param bin       bin number
+     * @return true if the Outcome is in the Bin
+     */
+    public boolean isWinner(int outcomeId, int bin) {
+        return outcomeId >= 0 && (binMasks[outcomeId] >>> bin & 1L) != 0;
+    }
+
+    /**
+     * Tests whether a losing bet on an Outcome gets half its amount back under la partage.
+     *
+     * @param outcomeId the id of the Outcome
+     * @param bin       the bin spun
+     * @return true if this layout has la partage, zero was spun and the Outcome is an even money bet
+     */
+    public boolean isLaPartage(int outcomeId, int bin) {
+        return LA_PARTAGE && bin == 0 && getCategory(outcomeId) == OutcomeCategory.EVEN_MONEY;
+    }
+
+    /**
+     * Pairs each bin with an antithetic bin, in which every even money bet that wins in the first bin loses and every
+     * one that loses wins: red with black, even with odd and low with high all at once. Bins with no even money
+     * Outcome, the zeros, and any bin left without a partner are paired with themselves. Since the pairing is a
+     * permutation, a spin mapped through it is as fair as the spin itself.
+     *
+     * @return the antithetic bin of each bin
+     */
+    public int[] getAntitheticBins() {
+        List<Long> evenMoney = new ArrayList<>();
+        for (int id = 0; id < OUTCOME_IDS.size(); id++) {
+            if (categories[id] == OutcomeCategory.EVEN_MONEY) {
+                evenMoney.add(binMasks[id]);
+            }
+        }
+        if (evenMoney.size() > Integer.SIZE - 1) {
+            throw new IllegalStateException("Too many even money outcomes");
+        }
+
+        // The even money outcomes which win in each bin
+        int all = (1 << evenMoney.size()) - 1;
+        int[] wins = new int[size()];
+        for (int bin = 0; bin < wins.length; bin++) {
+            for (int j = 0; j < evenMoney.size(); j++) {
+                if ((evenMoney.get(j) >>> bin & 1L) != 0) {
+                    wins[bin] |= 1 << j;
+                }
+            }
+        }
+
+        int[] antithetic = new int[size()];
+        Arrays.fill(antithetic, -1);
+        for (int bin = 0; bin < antithetic.length; bin++) {
+            if (antithetic[bin] >= 0) {
+                continue;
+            }
+            antithetic[bin] = bin;
+            if (wins[bin] == 0) {
+                continue;
+            }
+            for (int other = bin + 1; other < antithetic.length; other++) {
+                if (antithetic[other] < 0 && wins[other] == (all & ~wins[bin])) {
+                    antithetic[bin] = other;
+                    antithetic[other] = bin;
+                    break;
+                }
+            }
+        }
+        return antithetic;
+    }
+
+    /**
+     * @param name the name of the Outcome
+     * @return the Outcome, or null if there is none
+     * @see Wheel#getOutcome(String)
+     */
+    public Outcome getOutcome(String name) {
+        Outcome outcome = REGISTRY.getOutcome(name);
+        if (outcome == null) {
+            List<Outcome> outcomes = getOutcomes(name);
+            outcome = outcomes.isEmpty() ? null : outcomes.get(0);
+        }
+        return outcome;
+    }
+
+    /**
+     * @param name the name the matching outcomes must contain
+     * @return immutable list of Outcomes with the queried name
+     * @see Wheel#getOutcomes(String)
+     */
+    public List<Outcome> getOutcomes(String name) {
+        List<Outcome> result = outcomeCache.get(name);
+        if (result == null) {
+            List<Outcome> matches = new ArrayList<>();
+            for (Map.Entry<String, Outcome> entry : ALL_OUTCOMES.entrySet()) {
+                if (entry.getKey().contains(name)) {
+                    matches.add(entry.getValue());
+                }
+            }
+            result = List.copyOf(matches);
+            outcomeCache.put(name, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the registry of Outcomes by name and category
+     */
+    public OutcomeRegistry getOutcomeRegistry() {
+        return REGISTRY;
+    }
+}
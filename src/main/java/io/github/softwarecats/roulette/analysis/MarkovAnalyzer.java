@@ -0,0 +1,252 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.analysis;
+
+import io.github.softwarecats.roulette.Game;
+
+import java.util.Arrays;
+
+/**
+ * MarkovAnalyzer computes the exact statistics of a session of a strategy, instead of estimating them from samples as
+ * Simulator does. The probability of every (state, stake) pair is carried forward one cycle at a time, which gives
+ * the distribution of the duration and the probability of ruin. The distribution of the maximum stake is found one
+ * threshold at a time: P(maximum &ge; m) is the probability that a recorded stake reaches m, found by absorbing the
+ * sessions which reach it.
+ * <p>
+ * The results are meant to cross-check the Simulator, so they follow its conventions: a session ends when the
+ * Player is not playing or the duration is reached, and the maximum of a session with no cycles is the initial
+ * stake. The standard deviations are those of the exact distributions, not sample estimates.
+ */
+public class MarkovAnalyzer {
+
+    /**
+     * The largest stake the analysis will track. A strategy which can reach larger stakes is rejected rather than
+     * allocating without bound.
+     */
+    public static final int MAXIMUM_STAKE = 1 << 24;
+
+    /**
+     * The probability below which the tails of the maximum distribution are left out.
+     */
+    public static final double NEGLIGIBLE = 1e-15;
+
+    /**
+     * The number of cycles in a session, as in Simulator.
+     */
+    public int sessionDuration = 250;
+
+    /**
+     * The stake a session starts with, as in Simulator.
+     */
+    public int initialStake = Game.TABLE_MINIMUM * 100;
+
+    public double expectedDuration;
+
+    public double stdDuration;
+
+    /**
+     * The probability that the session ends before sessionDuration cycles because the Player cannot afford to play.
+     */
+    public double ruinProbability;
+
+    public double expectedMaximum;
+
+    public double stdMaximum;
+
+    /**
+     * The probability of each maximum stake, indexed by stake.
+     */
+    public double[] maximumDistribution;
+
+    /**
+     * The strategy analysed.
+     */
+    protected final StrategyChain CHAIN;
+
+    /**
+     * The largest stake recorded with non-zero probability by the last forward pass.
+     */
+    private int highestStake;
+
+    /**
+     * @param chain the strategy to analyse
+     */
+    public MarkovAnalyzer(StrategyChain chain) {
+        this.CHAIN = chain;
+    }
+
+    /**
+     * Computes the duration, ruin and maximum statistics into the public result fields.
+     */
+    public void analyse() {
+        if (initialStake < CHAIN.required[CHAIN.INITIAL_STATE] || sessionDuration <= 0) {
+            expectedDuration = 0;
+            stdDuration = 0;
+            ruinProbability = sessionDuration > 0 ? 1 : 0;
+            maximumDistribution = new double[initialStake + 1];
+            maximumDistribution[initialStake] = 1;
+            expectedMaximum = initialStake;
+            stdMaximum = 0;
+            return;
+        }
+
+        // P(duration > t) for each cycle t
+        double[] survival = new double[sessionDuration];
+        ruinProbability = 0;
+        propagate(Integer.MAX_VALUE, survival);
+
+        double first = 0;
+        double second = 0;
+        for (int t = 0; t < sessionDuration; t++) {
+            first += survival[t];
+            second += (2.0 * t + 1) * survival[t];
+        }
+        expectedDuration = first;
+        stdDuration = Math.sqrt(Math.max(0, second - first * first));
+
+        // P(maximum >= m), which falls from one at zero to nothing above the highest stake. The passes start at the
+        // initial stake and work outwards until the probability is within NEGLIGIBLE of its limit.
+        int highest = highestStake;
+        double[] atLeast = new double[highest + 2];
+        for (int m = Math.min(initialStake, highest); m >= 0; m--) {
+            atLeast[m] = m == 0 ? 1 : propagate(m, null);
+            if (atLeast[m] > 1 - NEGLIGIBLE) {
+                Arrays.fill(atLeast, 0, m, 1.0);
+                break;
+            }
+        }
+        for (int m = initialStake + 1; m <= highest; m++) {
+            atLeast[m] = propagate(m, null);
+            if (atLeast[m] < NEGLIGIBLE) {
+                break;
+            }
+        }
+
+        maximumDistribution = new double[highest + 1];
+        double mean = 0;
+        double square = 0;
+        for (int m = 0; m <= highest; m++) {
+            maximumDistribution[m] = Math.max(0, atLeast[m] - atLeast[m + 1]);
+            mean += m * maximumDistribution[m];
+            square += (double) m * m * maximumDistribution[m];
+        }
+        expectedMaximum = mean;
+        stdMaximum = Math.sqrt(Math.max(0, square - mean * mean));
+    }
+
+    /**
+     * Carries the probability of every (state, stake) pair forward through a session. Stakes recorded at or above the
+     * threshold are absorbed. Only the stakes each state can hold are visited, which keeps the work proportional to
+     * the reachable pairs.
+     *
+     * @param threshold the stake at which sessions are absorbed
+     * @param survival  receives P(duration &gt; t) and makes this pass count ruin, or null for a threshold pass
+     * @return the probability of being absorbed
+     */
+    private double propagate(int threshold, double[] survival) {
+        int states = CHAIN.states();
+        int capacity = threshold == Integer.MAX_VALUE
+                ? Math.max(16, 2 * initialStake + 1)
+                : Math.max(threshold, initialStake + 1);
+
+        double[][] current = new double[states][capacity];
+        double[][] next = new double[states][capacity];
+        int[] low = new int[states];
+        int[] high = new int[states];
+        int[] nextLow = new int[states];
+        int[] nextHigh = new int[states];
+        Arrays.fill(low, Integer.MAX_VALUE);
+        Arrays.fill(high, -1);
+
+        current[CHAIN.INITIAL_STATE][initialStake] = 1;
+        low[CHAIN.INITIAL_STATE] = initialStake;
+        high[CHAIN.INITIAL_STATE] = initialStake;
+        highestStake = initialStake;
+        double absorbed = 0;
+
+        for (int t = 0; t < sessionDuration; t++) {
+            Arrays.fill(nextLow, Integer.MAX_VALUE);
+            Arrays.fill(nextHigh, -1);
+            double played = 0;
+
+            for (int state = 0; state < states; state++) {
+                int required = CHAIN.required[state];
+                double[] probabilities = CHAIN.probabilities[state];
+                int[] deltas = CHAIN.deltas[state];
+                int[] nextStates = CHAIN.nextStates[state];
+
+                for (int stake = low[state]; stake <= high[state]; stake++) {
+                    double mass = current[state][stake];
+                    if (mass == 0) {
+                        continue;
+                    }
+                    current[state][stake] = 0;
+
+                    if (stake < required) {
+                        if (survival != null) {
+                            ruinProbability += mass;
+                        }
+                        continue;
+                    }
+                    played += mass;
+
+                    for (int j = 0; j < probabilities.length; j++) {
+                        int recorded = stake + deltas[j];
+                        double p = mass * probabilities[j];
+                        if (recorded >= threshold) {
+                            absorbed += p;
+                            continue;
+                        }
+                        if (recorded >= capacity) {
+                            if (recorded >= MAXIMUM_STAKE) {
+                                throw new IllegalStateException("Stakes beyond " + MAXIMUM_STAKE + " are not tracked");
+                            }
+                            capacity = Math.min(MAXIMUM_STAKE, Math.max(2 * capacity, recorded + 1));
+                            for (int k = 0; k < states; k++) {
+                                current[k] = Arrays.copyOf(current[k], capacity);
+                                next[k] = Arrays.copyOf(next[k], capacity);
+                            }
+                        }
+
+                        int nextState = nextStates[j];
+                        next[nextState][recorded] += p;
+                        nextLow[nextState] = Math.min(nextLow[nextState], recorded);
+                        nextHigh[nextState] = Math.max(nextHigh[nextState], recorded);
+                        highestStake = Math.max(highestStake, recorded);
+                    }
+                }
+            }
+
+            if (survival != null) {
+                survival[t] = played;
+            }
+
+            double[][] swap = current;
+            current = next;
+            next = swap;
+            int[] swapLow = low;
+            low = nextLow;
+            nextLow = swapLow;
+            int[] swapHigh = high;
+            high = nextHigh;
+            nextHigh = swapHigh;
+        }
+
+        return absorbed;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.analysis;
+
+import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.Game;
+import io.github.softwarecats.roulette.Wheel;
+import io.github.softwarecats.roulette.player.PlayerType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StrategyChain is a betting strategy compiled into a finite state machine over the bins of a Wheel. Every state has
+ * the stake the Player needs to keep playing, the amount bet and the payout odds of the bet; every state and bin
+ * have whether the bet wins and which state follows. Together with the stake, the state is all a strategy
+ * remembers, so a session is a Markov chain over (state, stake).
+ * <p>
+ * The transitions of each state are merged over bins that lead to the same stake change and next state, so a
+ * strategy betting on an even money outcome has only two or three transitions per state. Where the wheel’s layout has
+ * la partage, a losing bet returns half its amount when zero is spun.
+ */
+public class StrategyChain {
+
+    /**
+     * A required stake that can never be met. A state with it ends the session, like a Martingale player who can no
+     * longer double their bet.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * The largest bet a chain is unrolled to. States whose bet would be larger are replaced by a final state.
+     */
+    public static final int MAXIMUM_BET = 1 << 29;
+
+    /**
+     * The state a session starts in.
+     */
+    public final int INITIAL_STATE = 0;
+
+    /**
+     * The stake the Player needs in each state to keep playing.
+     */
+    protected final int[] required;
+
+    /**
+     * The probability, stake change and next state of each merged transition, indexed by state and then transition.
+     */
+    protected final double[][] probabilities;
+    protected final int[][] deltas;
+    protected final int[][] nextStates;
+
+    /**
+     * Merges the per-bin description of a strategy into transitions.
+     *
+     * @param required the stake needed to keep playing in each state
+     * @param bets     the amount bet in each state, zero for no bet
+     * @param odds     the payout odds of the bet
+     * @param wins     whether the bet of each state wins in each bin
+     * @param partage  whether a losing bet gets half its amount back under la partage in each bin
+     * @param next     the next state after each state and bin
+     */
+    protected StrategyChain(int[] required, int[] bets, int odds, boolean[][] wins, boolean[] partage, int[][] next) {
+        int states = required.length;
+        this.required = required;
+        this.probabilities = new double[states][];
+        this.deltas = new int[states][];
+        this.nextStates = new int[states][];
+
+        for (int state = 0; state < states; state++) {
+            int bins = next[state].length;
+            List<int[]> transitions = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+
+            for (int bin = 0; bin < bins; bin++) {
+                int delta = wins[state][bin] ? odds * bets[state]
+                        : partage[bin] ? -bets[state] + bets[state] / 2 : -bets[state];
+                int nextState = next[state][bin];
+
+                int found = -1;
+                for (int j = 0; j < transitions.size(); j++) {
+                    if (transitions.get(j)[0] == delta && transitions.get(j)[1] == nextState) {
+                        found = j;
+                    }
+                }
+                if (found < 0) {
+                    transitions.add(new int[]{delta, nextState});
+                    counts.add(1);
+                } else {
+                    counts.set(found, counts.get(found) + 1);
+                }
+            }
+
+            probabilities[state] = new double[transitions.size()];
+            deltas[state] = new int[transitions.size()];
+            nextStates[state] = new int[transitions.size()];
+            for (int j = 0; j < transitions.size(); j++) {
+                probabilities[state][j] = (double) counts.get(j) / bins;
+                deltas[state][j] = transitions.get(j)[0];
+                nextStates[state][j] = transitions.get(j)[1];
+            }
+        }
+    }
+
+    /**
+     * Compiles one of the built-in strategies, with the base bet and preferred outcomes the Player classes use.
+     * Cancellation remembers a whole sequence of bets and RandomChoice bets on outcomes of varying odds, so neither
+     * has a small state machine and both are rejected.
+     *
+     * @param type  the strategy
+     * @param wheel a wheel whose bins have been built
+     * @return the compiled strategy
+     * @throws IllegalArgumentException if the strategy cannot be compiled
+     */
+    public static StrategyChain of(PlayerType type, Wheel wheel) {
+        switch (type) {
+            case PASSENGER57:
+                return progression(wheel, new int[]{Game.TABLE_MINIMUM}, new int[]{0}, new int[]{0});
+            case MARTINGALE:
+                return martingale(wheel);
+            case FIBONACCI:
+                return fibonacci(wheel);
+            case ONE_THREE_TWO_SIX:
+                return progression(wheel,
+                        new int[]{Game.TABLE_MINIMUM, 3 * Game.TABLE_MINIMUM, 2 * Game.TABLE_MINIMUM, 6 * Game.TABLE_MINIMUM},
+                        new int[]{1, 2, 3, 0},
+                        new int[]{0, 0, 0, 0});
+            case SEVEN_REDS:
+                return sevenReds(wheel);
+            default:
+                throw new IllegalArgumentException(type + " has no finite state machine");
+        }
+    }
+
+    /**
+     * @return the number of states, including any final state
+     */
+    public int states() {
+        return required.length;
+    }
+
+    /**
+     * Compiles a strategy which always bets on black, moving between states on a win or a loss.
+     *
+     * @param wheel  a wheel whose bins have been built
+     * @param bets   the bet of each state, which is also the stake needed to play in that state
+     * @param onWin  the next state after a win
+     * @param onLoss the next state after a loss, or -1 for the final state
+     * @return the compiled strategy
+     */
+    protected static StrategyChain progression(Wheel wheel, int[] bets, int[] onWin, int[] onLoss) {
+        int black = blackId(wheel);
+        int states = bets.length;
+        boolean hasFinal = false;
+        for (int state : onLoss) {
+            hasFinal |= state < 0;
+        }
+
+        int total = hasFinal ? states + 1 : states;
+        int[] required = new int[total];
+        int[] allBets = new int[total];
+        boolean[][] wins = new boolean[total][wheel.size()];
+        int[][] next = new int[total][wheel.size()];
+
+        for (int state = 0; state < total; state++) {
+            boolean isFinal = state == states;
+            required[state] = isFinal ? UNREACHABLE : bets[state];
+            allBets[state] = isFinal ? 0 : bets[state];
+
+            for (int bin = 0; bin < wheel.size(); bin++) {
+                if (isFinal) {
+                    next[state][bin] = state;
+                    continue;
+                }
+                wins[state][bin] = wheel.isWinner(black, bin);
+                int nextState = wins[state][bin] ? onWin[state] : onLoss[state];
+                next[state][bin] = nextState < 0 ? states : nextState;
+            }
+        }
+
+        return new StrategyChain(required, allBets, Game.EVEN_MONEY_BET_PAYOUT, wins, partage(wheel, black), next);
+    }
+
+    /**
+     * Martingale doubles the bet on every loss, up to MAXIMUM_BET.
+     */
+    protected static StrategyChain martingale(Wheel wheel) {
+        List<Integer> bets = new ArrayList<>();
+        for (long bet = Game.TABLE_MINIMUM; bet <= MAXIMUM_BET; bet *= 2) {
+            bets.add((int) bet);
+        }
+        return losingProgression(wheel, bets);
+    }
+
+    /**
+     * Fibonacci steps forward through the Fibonacci sequence on every loss, up to MAXIMUM_BET.
+     */
+    protected static StrategyChain fibonacci(Wheel wheel) {
+        List<Integer> bets = new ArrayList<>();
+        for (long current = 1, previous = 0; current <= MAXIMUM_BET; ) {
+            bets.add((int) current);
+            long next = current + previous;
+            previous = current;
+            current = next;
+        }
+        return losingProgression(wheel, bets);
+    }
+
+    /**
+     * A progression which returns to its first bet on a win and moves to the next bet on a loss.
+     */
+    private static StrategyChain losingProgression(Wheel wheel, List<Integer> bets) {
+        int states = bets.size();
+        int[] amounts = new int[states];
+        int[] onWin = new int[states];
+        int[] onLoss = new int[states];
+        for (int state = 0; state < states; state++) {
+            amounts[state] = bets.get(state);
+            onLoss[state] = state + 1 < states ? state + 1 : -1;
+        }
+        return progression(wheel, amounts, onWin, onLoss);
+    }
+
+    /**
+     * SevenReds counts reds up to seven and then plays Martingale on black. Its state is the pair of the red count
+     * and the Martingale loss count; while waiting it bets nothing, but still needs the Martingale stake to play.
+     */
+    protected static StrategyChain sevenReds(Wheel wheel) {
+        int black = blackId(wheel);
+        int red = wheel.getOutcomeId(wheel.getOutcome(Game.BET_NAMES.getString("red")));
+
+        int levels = 0;
+        for (long bet = Game.TABLE_MINIMUM; bet <= MAXIMUM_BET; bet *= 2) {
+            levels++;
+        }
+        // Loss counts 0 .. levels - 1, plus a final level which can never be played
+        int perCount = levels + 1;
+        int total = 8 * perCount;
+
+        int[] required = new int[total];
+        int[] bets = new int[total];
+        boolean[][] wins = new boolean[total][wheel.size()];
+        int[][] next = new int[total][wheel.size()];
+
+        for (int count = 0; count <= 7; count++) {
+            for (int level = 0; level <= levels; level++) {
+                int state = count * perCount + level;
+                boolean isFinal = level == levels;
+                required[state] = isFinal ? UNREACHABLE : Game.TABLE_MINIMUM << level;
+                boolean betting = count >= 7 && !isFinal;
+                bets[state] = betting ? required[state] : 0;
+
+                for (int bin = 0; bin < wheel.size(); bin++) {
+                    int nextLevel = level;
+                    if (betting) {
+                        wins[state][bin] = wheel.isWinner(black, bin);
+                        nextLevel = wins[state][bin] ? 0 : level + 1;
+                    }
+                    int nextCount = wheel.isWinner(red, bin) ? Math.min(count + 1, 7) : 0;
+                    next[state][bin] = nextCount * perCount + nextLevel;
+                }
+            }
+        }
+
+        return new StrategyChain(required, bets, Game.EVEN_MONEY_BET_PAYOUT, wins, partage(wheel, black), next);
+    }
+
+    private static boolean[] partage(Wheel wheel, int outcomeId) {
+        boolean[] partage = new boolean[wheel.size()];
+        for (int bin = 0; bin < wheel.size(); bin++) {
+            partage[bin] = wheel.isLaPartage(outcomeId, bin);
+        }
+        return partage;
+    }
+
+    private static int blackId(Wheel wheel) {
+        Outcome black = wheel.getOutcome(Game.BET_NAMES.getString("black"));
+        return wheel.getOutcomeId(black);
+    }
+}
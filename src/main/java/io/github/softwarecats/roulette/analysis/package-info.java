@@ -0,0 +1,22 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Exact analysis of betting strategies. A strategy is compiled into a StrategyChain, a finite state machine over the
+ * bins of a Wheel, and MarkovAnalyzer computes the distributions of session duration and maximum stake from it by
+ * dynamic programming, for cross-checking the Simulator.
+ */
+package io.github.softwarecats.roulette.analysis;
@@ -0,0 +1,136 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.metrics;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsReporter prints SimulationMetrics periodically on a daemon thread, either as readable lines or as CSV rows.
+ * The rates printed are those of the last period, not averages over the whole run.
+ */
+public class MetricsReporter implements Closeable {
+
+    /**
+     * The header of the CSV rows.
+     */
+    public static final String CSV_HEADER = "elapsed,spins,sessions,spinsPerSecond,sessionsPerSecond,averageRounds,"
+            + "pendingBlocks,heapUsed,allocationRate";
+
+    protected final SimulationMetrics METRICS;
+
+    protected final PrintStream OUT;
+
+    protected final boolean CSV;
+
+    private ScheduledExecutorService scheduler;
+
+    private boolean headerPrinted;
+
+    private double lastElapsed;
+
+    private long lastSpins;
+
+    private long lastSessions;
+
+    private long lastAllocated;
+
+    /**
+     * @param metrics the metrics to report
+     * @param out     where to print the reports
+     * @param csv     true for CSV rows, false for readable lines
+     */
+    public MetricsReporter(SimulationMetrics metrics, PrintStream out, boolean csv) {
+        this.METRICS = metrics;
+        this.OUT = out;
+        this.CSV = csv;
+    }
+
+    /**
+     * Starts printing a report every period.
+     *
+     * @param period the time between reports
+     * @param unit   the unit of the period
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Reporter already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+
+    /**
+     * Prints one report of the metrics, with the rates since the previous report.
+     */
+    public synchronized void report() {
+        double elapsed = METRICS.getElapsedSeconds();
+        long spins = METRICS.getSpins();
+        long sessions = METRICS.getSessions();
+        long allocated = METRICS.getAllocatedBytes();
+
+        double interval = elapsed - lastElapsed;
+        double spinsPerSecond = (spins - lastSpins) / interval;
+        double sessionsPerSecond = (sessions - lastSessions) / interval;
+        double allocationRate = allocated < 0 ? Double.NaN : (allocated - lastAllocated) / interval;
+
+        if (CSV) {
+            if (!headerPrinted) {
+                OUT.println(CSV_HEADER);
+                headerPrinted = true;
+            }
+            OUT.println(String.format(Locale.ROOT, "%.3f,%d,%d,%.1f,%.1f,%.3f,%d,%d,%.1f", elapsed, spins, sessions,
+                    spinsPerSecond, sessionsPerSecond, METRICS.getAverageRounds(), METRICS.getPendingBlocks(),
+                    METRICS.getHeapUsed(), allocationRate));
+        } else {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                    "[%.0fs] %d spins (%.0f/s), %d sessions (%.0f/s), %d blocks pending, heap %d MB, "
+                            + "allocating %.1f MB/s", elapsed, spins, spinsPerSecond, sessions, sessionsPerSecond,
+                    METRICS.getPendingBlocks(), METRICS.getHeapUsed() >> 20, allocationRate / (1 << 20)));
+            for (Map.Entry<String, Double> strategy : METRICS.getAverageRoundsByStrategy().entrySet()) {
+                line.append(String.format(Locale.ROOT, ", %s %.1f rounds", strategy.getKey(), strategy.getValue()));
+            }
+            OUT.println(line);
+        }
+
+        lastElapsed = elapsed;
+        lastSpins = spins;
+        lastSessions = sessions;
+        lastAllocated = allocated;
+    }
+
+    /**
+     * Stops the reports.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
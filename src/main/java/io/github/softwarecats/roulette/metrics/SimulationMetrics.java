@@ -0,0 +1,228 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SimulationMetrics counts the spins and sessions played by one or more Simulators while they run. The counters are
+ * striped LongAdders, so the worker threads of a ParallelSimulator can share one instance without contending on a
+ * lock. A Simulator only touches its metrics once per session, and not at all when it has none.
+ * <p>
+ * The metrics may be registered as a JMX MBean, or printed by a MetricsReporter.
+ */
+public class SimulationMetrics implements SimulationMetricsMBean {
+
+    /**
+     * The JMX domain the metrics are registered under.
+     */
+    public static final String DOMAIN = "io.github.softwarecats.roulette";
+
+    protected final LongAdder spins = new LongAdder();
+
+    protected final LongAdder sessions = new LongAdder();
+
+    /**
+     * The rounds and sessions of each strategy, keyed by the simple name of the Player's class.
+     */
+    protected final ConcurrentMap<String, Strategy> strategies = new ConcurrentHashMap<>();
+
+    /**
+     * The number of blocks a ParallelSimulator has still to hand out to its workers.
+     */
+    protected volatile int pendingBlocks;
+
+    protected final long START = System.nanoTime();
+
+    private ObjectName name;
+
+    /**
+     * Records a finished session.
+     *
+     * @param strategy the name of the strategy played
+     * @param rounds   the number of rounds the session lasted
+     */
+    public void sessionCompleted(String strategy, int rounds) {
+        spins.add(rounds);
+        sessions.increment();
+
+        Strategy counters = strategies.get(strategy);
+        if (counters == null) {
+            counters = strategies.computeIfAbsent(strategy, s -> new Strategy());
+        }
+        counters.rounds.add(rounds);
+        counters.sessions.increment();
+    }
+
+    /**
+     * @param pendingBlocks the number of blocks not yet handed out to a worker
+     */
+    public void setPendingBlocks(int pendingBlocks) {
+        this.pendingBlocks = pendingBlocks;
+    }
+
+    @Override
+    public long getSpins() {
+        return spins.sum();
+    }
+
+    @Override
+    public long getSessions() {
+        return sessions.sum();
+    }
+
+    @Override
+    public double getSpinsPerSecond() {
+        return getSpins() / getElapsedSeconds();
+    }
+
+    @Override
+    public double getSessionsPerSecond() {
+        return getSessions() / getElapsedSeconds();
+    }
+
+    @Override
+    public double getAverageRounds() {
+        long count = getSessions();
+        return count == 0 ? Double.NaN : (double) getSpins() / count;
+    }
+
+    @Override
+    public Map<String, Double> getAverageRoundsByStrategy() {
+        Map<String, Double> averages = new TreeMap<>();
+        strategies.forEach((strategy, counters) -> averages.put(strategy, counters.getAverageRounds()));
+        return averages;
+    }
+
+    @Override
+    public int getPendingBlocks() {
+        return pendingBlocks;
+    }
+
+    @Override
+    public long getHeapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Returns the bytes allocated by every live thread, if the JVM can measure it. Threads which have ended are no
+     * longer counted, so this may fall as well as rise.
+     *
+     * @return the bytes allocated, or -1 if the JVM does not support allocation measurement
+     */
+    @Override
+    public long getAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        if (!allocation.isThreadAllocatedMemorySupported() || !allocation.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long bytes : allocation.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public double getAllocationRate() {
+        long bytes = getAllocatedBytes();
+        return bytes < 0 ? Double.NaN : bytes / getElapsedSeconds();
+    }
+
+    @Override
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - START) / 1e9;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server.
+     *
+     * @param simulation the name distinguishing these metrics from those of other simulations
+     * @throws IllegalStateException if metrics of that name are already registered
+     */
+    public void register(String simulation) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=SimulationMetrics,name="
+                    + ObjectName.quote(simulation));
+            server.registerMBean(this, objectName);
+            name = objectName;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Metrics of " + simulation + " are already registered", e);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they were registered.
+     */
+    public void unregister() {
+        if (name == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (InstanceNotFoundException e) {
+            // Already gone
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+        name = null;
+    }
+
+    /**
+     * @return the name the metrics are registered under, or null if they are not registered
+     */
+    public ObjectName getObjectName() {
+        return name;
+    }
+
+    /**
+     * The counters of one strategy.
+     */
+    protected static class Strategy {
+
+        protected final LongAdder rounds = new LongAdder();
+
+        protected final LongAdder sessions = new LongAdder();
+
+        protected double getAverageRounds() {
+            long count = sessions.sum();
+            return count == 0 ? Double.NaN : (double) rounds.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of SimulationMetrics. Rates are averaged over the time since the metrics were created.
+ */
+public interface SimulationMetricsMBean {
+
+    long getSpins();
+
+    long getSessions();
+
+    double getSpinsPerSecond();
+
+    double getSessionsPerSecond();
+
+    double getAverageRounds();
+
+    Map<String, Double> getAverageRoundsByStrategy();
+
+    int getPendingBlocks();
+
+    long getHeapUsed();
+
+    long getAllocatedBytes();
+
+    double getAllocationRate();
+
+    double getElapsedSeconds();
+}
@@ -20,11 +20,10 @@ import io.github.softwarecats.casino.event.Outcome;
 import io.github.softwarecats.roulette.Bet;
 import io.github.softwarecats.roulette.Game;
 import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.Money;
 import io.github.softwarecats.roulette.Table;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Cancellation uses the cancellation betting system. This player allocates their available budget into a
@@ -38,10 +37,15 @@ public class Cancellation extends Player {
     protected final Outcome OUTCOME;
 
     /**
-     * This Deque keeps the bet amounts; wins are removed from this list and losses are appended to this list. The
+     * This Sequence keeps the bet amounts; wins are removed from this list and losses are appended to this list. The
      * current bet is the first value plus the last value.
      */
-    protected Deque<Integer> sequence = new ArrayDeque<>();
+    protected final Sequence sequence = new Sequence();
+
+    /**
+     * The bet on the preferred Outcome, placed again every cycle with the current bet amount.
+     */
+    protected final Bet bet;
 
     /**
      * This uses the Cancellation.resetSequence() method to initialize the sequence of numbers
@@ -54,12 +58,13 @@ public class Cancellation extends Player {
 
         resetSequence();
 
-        OUTCOME = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        OUTCOME = table.WHEEL.getOutcome(Game.BET_NAMES.getString("black"));
+        bet = new Bet(0, OUTCOME, this);
     }
 
     @Override
     public boolean playing() {
-        return (calcBetAmount() <= stake) && (roundsToGo > 0);
+        return Money.canPlace(calcBetAmount(), stake) && (roundsToGo > 0);
     }
 
     /**
@@ -69,7 +74,7 @@ public class Cancellation extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        Bet bet = new Bet(calcBetAmount(), OUTCOME, this);
+        bet.amountBet = calcBetAmount();
         table.placeBet(bet);
     }
 
@@ -102,27 +107,112 @@ public class Cancellation extends Player {
     public void lose(Bet bet) {
         super.lose(bet);
 
-        sequence.add(bet.amountBet);
+        sequence.addLast(bet.amountBet);
     }
 
     /**
-     * Puts the initial sequence of six Integer instances into the sequence variable. These Integers are built
-     * from the values 1 through 6.
+     * Puts the initial sequence of the values 1 through 6 into the sequence variable.
      */
     protected void resetSequence() {
-        sequence = new ArrayDeque<>(List.of(1, 2, 3, 4, 5, 6));
+        sequence.clear();
+        for (long amount = 1; amount <= 6; amount++) {
+            sequence.addLast(amount);
+        }
     }
 
-    protected int calcBetAmount() {
+    protected long calcBetAmount() {
         if (sequence.size() == 0) {
             resetSequence();
         }
 
         if (sequence.size() == 1) {
-            return sequence.peek();
+            return sequence.peekFirst();
         } else {
-            return (sequence.peekFirst() == null ? 0 : sequence.peekFirst()) +
-                    (sequence.peekLast() == null ? 0 : sequence.peekLast());
+            return Money.add(sequence.peekFirst(), sequence.peekLast());
+        }
+    }
+
+    /**
+     * Sequence is a double-ended queue of bet amounts held in a ring of primitive longs, so that playing does not box
+     * the amounts. The ring only grows when a losing streak outlasts it.
+     */
+    protected static class Sequence {
+
+        private long[] amounts = new long[32];
+
+        /**
+         * The index of the first amount.
+         */
+        private int head;
+
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        /**
+         * @return the first amount, or 0 if there is none
+         */
+        public long peekFirst() {
+            return size == 0 ? 0 : amounts[head];
+        }
+
+        /**
+         * @return the last amount, or 0 if there is none
+         */
+        public long peekLast() {
+            return size == 0 ? 0 : amounts[(head + size - 1) & (amounts.length - 1)];
+        }
+
+        public void addLast(long amount) {
+            if (size == amounts.length) {
+                // Unroll the ring into a larger array, keeping the length a power of two
+                long[] grown = new long[2 * amounts.length];
+                int first = amounts.length - head;
+                System.arraycopy(amounts, head, grown, 0, first);
+                System.arraycopy(amounts, 0, grown, first, head);
+                amounts = grown;
+                head = 0;
+            }
+            amounts[(head + size) & (amounts.length - 1)] = amount;
+            size++;
+        }
+
+        /**
+         * Removes the first amount, if there is one.
+         */
+        public void pollFirst() {
+            if (size > 0) {
+                head = (head + 1) & (amounts.length - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Removes the last amount, if there is one.
+         */
+        public void pollLast() {
+            if (size > 0) {
+                size--;
+            }
+        }
+
+        /**
+         * @return the amounts from first to last
+         */
+        @Override
+        public String toString() {
+            long[] copy = new long[size];
+            for (int i = 0; i < size; i++) {
+                copy[i] = amounts[(head + i) & (amounts.length - 1)];
+            }
+            return Arrays.toString(copy);
         }
     }
 }
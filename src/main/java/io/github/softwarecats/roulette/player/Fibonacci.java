@@ -20,6 +20,7 @@ import io.github.softwarecats.casino.event.Outcome;
 import io.github.softwarecats.roulette.Bet;
 import io.github.softwarecats.roulette.Game;
 import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.Money;
 import io.github.softwarecats.roulette.Table;
 
 /**
@@ -34,14 +35,19 @@ public class Fibonacci extends Player {
     protected final Outcome BLACK;
 
     /**
-     * This is the most recent bet amount. Initially, this is 1.
+     * This is the most recent bet amount. Initially, this is 1. It saturates at Long.MAX_VALUE rather than overflow.
      */
-    protected int current = 1;
+    protected long current = 1;
 
     /**
      * This is the bet amount previous to the most recent bet amount. Initially, this is zero.
      */
-    protected int previous = 0;
+    protected long previous = 0;
+
+    /**
+     * The bet on black, placed again every cycle with the current bet amount.
+     */
+    protected final Bet bet;
 
     /**
      * Initialize the Fibonacci player.
@@ -51,17 +57,19 @@ public class Fibonacci extends Player {
     public Fibonacci(Table table) {
         super(table);
 
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        BLACK = table.WHEEL.getOutcome(Game.BET_NAMES.getString("black"));
+        bet = new Bet(current, BLACK, this);
     }
 
     @Override
     public boolean playing() {
-        return (current <= stake) && (roundsToGo > 0);
+        return Money.canPlace(current, stake) && (roundsToGo > 0);
     }
 
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(current, BLACK, this));
+        bet.amountBet = current;
+        table.placeBet(bet);
     }
 
     @Override
@@ -97,7 +105,7 @@ public class Fibonacci extends Player {
     public void lose(Bet bet) {
         super.lose(bet);
 
-        int next = current + previous;
+        long next = Money.add(current, previous);
         previous = current;
         current = next;
     }
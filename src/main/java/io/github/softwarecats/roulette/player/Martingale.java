@@ -20,6 +20,7 @@ import io.github.softwarecats.casino.event.Outcome;
 import io.github.softwarecats.roulette.Bet;
 import io.github.softwarecats.roulette.Game;
 import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.Money;
 import io.github.softwarecats.roulette.Table;
 
 /**
@@ -30,7 +31,7 @@ public class Martingale extends Player {
 
     protected final Outcome BLACK;
 
-    protected int baseBet = Game.TABLE_MINIMUM;
+    protected long baseBet = Game.TABLE_MINIMUM;
 
     /**
      * The number of losses. This is the number of times to double the bet.
@@ -39,9 +40,15 @@ public class Martingale extends Player {
 
     /**
      * The the bet multiplier, based on the number of losses. This starts at 1, and is reset to 1 on each win. It is doubled
-     * in each loss. This is always equal to 2 to the power of lossCount.
+     * in each loss. This is always equal to 2 to the power of lossCount, until it saturates at Long.MAX_VALUE after 63
+     * losses.
      */
-    protected int betMultiple = 1;
+    protected long betMultiple = 1;
+
+    /**
+     * The bet on black, placed again every cycle with the current bet amount.
+     */
+    protected final Bet bet;
 
     /**
      * Constructs the Player with a specific Table for placing Bets.
@@ -51,12 +58,13 @@ public class Martingale extends Player {
      */
     public Martingale(Table table) {
         super(table);
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        BLACK = table.WHEEL.getOutcome(Game.BET_NAMES.getString("black"));
+        bet = new Bet(baseBet, BLACK, this);
     }
 
     @Override
     public boolean playing() {
-        return (baseBet * betMultiple <= stake) && (roundsToGo > 0);
+        return Money.canPlace(Money.multiply(baseBet, betMultiple), stake) && (roundsToGo > 0);
     }
 
     /**
@@ -66,7 +74,8 @@ public class Martingale extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(baseBet * betMultiple, BLACK, this));
+        bet.amountBet = Money.multiply(baseBet, betMultiple);
+        table.placeBet(bet);
     }
 
     @Override
@@ -98,6 +107,6 @@ public class Martingale extends Player {
     public void lose(Bet bet) {
         super.lose(bet);
         lossCount += 1;
-        betMultiple *= 2;
+        betMultiple = Money.multiply(betMultiple, 2);
     }
 }
@@ -63,14 +63,14 @@ public class OneThreeTwoSix extends Player {
     public OneThreeTwoSix(Table table) {
         super(table);
 
-        OUTCOME = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        OUTCOME = table.WHEEL.getOutcome(Game.BET_NAMES.getString("black"));
 
-        state = new NoWins(this);
+        state = STATE_FACTORY.getState(StateType.NO_WINS);
     }
 
     @Override
     public boolean playing() {
-        return (stake >= state.currentBet().amountBet) && (roundsToGo > 0);
+        return (stake >= state.betAmount()) && (roundsToGo > 0);
     }
 
     /**
@@ -86,7 +86,7 @@ public class OneThreeTwoSix extends Player {
 
     @Override
     public void newRound() {
-        state = new NoWins(this);
+        state = STATE_FACTORY.getState(StateType.NO_WINS);
     }
 
     /**
@@ -206,6 +206,11 @@ public class OneThreeTwoSix extends Player {
          */
         protected int multiplier;
 
+        /**
+         * The bet of this state, placed again each time the player is in this state.
+         */
+        protected final Bet bet;
+
         /**
          * The constructor for this class saves the OneThreeTwoSix which will be used to provide the Outcome on which
          * we will bet.
@@ -216,16 +221,26 @@ public class OneThreeTwoSix extends Player {
         public State(OneThreeTwoSix player, int multiplier) {
             this.player = player;
             this.multiplier = multiplier;
+            this.bet = new Bet(betAmount(), player.OUTCOME, player);
+        }
+
+        /**
+         * Returns the amount this state bets. Each subclass has a different multiplier of the base bet.
+         *
+         * @return the bet amount
+         */
+        public int betAmount() {
+            return player.baseBet * multiplier;
         }
 
         /**
-         * Constructs a new Bet from the player’s preferred Outcome. Each subclass has a different multiplier used when
-         * creating this Bet.
+         * Returns the Bet of this state on the player’s preferred Outcome, with its amount brought up to date.
          *
          * @return the bet
          */
         public Bet currentBet() {
-            return new Bet(player.baseBet * multiplier, player.OUTCOME, player);
+            bet.amountBet = betAmount();
+            return bet;
         }
 
         /**
@@ -32,6 +32,11 @@ public class Passenger57 extends Player {
 
     protected int baseBet = Game.TABLE_MINIMUM;
 
+    /**
+     * The bet on black, placed again every cycle.
+     */
+    protected final Bet bet;
+
     /**
      * Constructs the Player with a specific Table for placing Bets.
      * Since the table has access to the Wheel, we can use this wheel to extract Outcome objects.
@@ -41,7 +46,8 @@ public class Passenger57 extends Player {
     public Passenger57(Table table) {
         super(table);
 
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        BLACK = table.WHEEL.getOutcome(Game.BET_NAMES.getString("black"));
+        bet = new Bet(baseBet, BLACK, this);
     }
 
     public int getBaseBet() {
@@ -55,7 +61,8 @@ public class Passenger57 extends Player {
 
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(baseBet, BLACK, this));
+        bet.amountBet = baseBet;
+        table.placeBet(bet);
     }
 
     @Override
@@ -20,6 +20,7 @@ import io.github.softwarecats.casino.event.Outcome;
 import io.github.softwarecats.roulette.Bet;
 import io.github.softwarecats.roulette.InvalidBetException;
 import io.github.softwarecats.roulette.Table;
+import io.github.softwarecats.roulette.random.RandomSource;
 
 import java.util.Set;
 
@@ -32,7 +33,7 @@ public abstract class Player {
     /**
      * The player’s current stake. Initialized to the player’s starting budget.
      */
-    public int stake;
+    public long stake;
 
     /**
      * The number of rounds left to play. Initialized by the overall simulation control to the maximum number of rounds
@@ -80,6 +81,16 @@ public abstract class Player {
 
     }
 
+    /**
+     * Gives the Player a new source of random numbers. Strategies which make random choices of their own draw from
+     * it; the others ignore it.
+     *
+     * @param rng the source of random numbers
+     */
+    public void setRandomSource(RandomSource rng) {
+
+    }
+
     /**
      * Informs the Player that a new round has started and it should reset all its attributes.
      */
@@ -92,7 +103,7 @@ public abstract class Player {
      * @param bet the bet which won
      */
     public void win(Bet bet) {
-        stake += bet.winAmount();
+        stake = Math.addExact(stake, bet.winAmount());
     }
 
     /**
@@ -17,9 +17,39 @@
 package io.github.softwarecats.roulette.player;
 
 import io.github.softwarecats.roulette.Table;
+import io.github.softwarecats.roulette.random.JdkRandomSource;
+import io.github.softwarecats.roulette.random.RandomSource;
+
+import java.util.Random;
 
 public class PlayerFactory {
     public static Player getPlayer(PlayerType type, Table table) {
+        return getPlayer(type, table, new Random());
+    }
+
+    /**
+     * Creates a Player of the given type. Strategies which make random choices of their own draw from the given
+     * random number generator, so that callers may seed them.
+     *
+     * @param type  the betting strategy
+     * @param table the table to use
+     * @param rng   the random number generator for strategies which need one
+     * @return a new Player
+     */
+    public static Player getPlayer(PlayerType type, Table table, Random rng) {
+        return getPlayer(type, table, new JdkRandomSource(rng));
+    }
+
+    /**
+     * Creates a Player of the given type. Strategies which make random choices of their own draw from the given
+     * source of random numbers.
+     *
+     * @param type  the betting strategy
+     * @param table the table to use
+     * @param rng   the source of random numbers for strategies which need one
+     * @return a new Player
+     */
+    public static Player getPlayer(PlayerType type, Table table, RandomSource rng) {
         switch (type) {
             case CANCELLATION:
                 return new Cancellation(table);
@@ -32,7 +62,7 @@ public class PlayerFactory {
             case PASSENGER57:
                 return new Passenger57(table);
             case RANDOM_CHOICE:
-                return new RandomChoice(table);
+                return new RandomChoice(table, rng);
             case SEVEN_REDS:
                 return new SevenReds(table);
             default:
@@ -21,6 +21,8 @@ import io.github.softwarecats.roulette.Bet;
 import io.github.softwarecats.roulette.Game;
 import io.github.softwarecats.roulette.InvalidBetException;
 import io.github.softwarecats.roulette.Table;
+import io.github.softwarecats.roulette.random.JdkRandomSource;
+import io.github.softwarecats.roulette.random.RandomSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,13 +37,19 @@ public class RandomChoice extends Player {
      * A Random Number Generator which will return the next random number.
      * When writing unit tests, we will want to patch this with a mock object to return a known sequence of bets.
      */
-    protected final Random RNG;
+    protected RandomSource rng;
 
     /**
      * All possible outcomes.
      */
     protected final List<Outcome> ALL_OUTCOMES;
 
+    /**
+     * One bet for each of the possible outcomes, in the same order, so that a random bet is picked rather than
+     * created.
+     */
+    protected final Bet[] BETS;
+
     /**
      * The Base bet.
      */
@@ -57,9 +65,27 @@ public class RandomChoice extends Player {
      * @param rng   the random number generator
      */
     public RandomChoice(Table table, Random rng) {
+        this(table, new JdkRandomSource(rng));
+    }
+
+    /**
+     * This uses the super() construct to invoke the superclass constructor using the Table.
+     * <p>
+     * It will also use the wheel associated with the table to get the set of bins. The set of bins is then used to create the
+     * pool of outcomes for creating bets.
+     *
+     * @param table the Table which will accept the bests
+     * @param rng   the source of random numbers
+     */
+    public RandomChoice(Table table, RandomSource rng) {
         super(table);
-        RNG = rng;
+        this.rng = rng;
         ALL_OUTCOMES = new ArrayList<>(table.WHEEL.getAllOutcomes().values());
+
+        BETS = new Bet[ALL_OUTCOMES.size()];
+        for (int i = 0; i < BETS.length; i++) {
+            BETS[i] = new Bet(baseBet, ALL_OUTCOMES.get(i), this);
+        }
     }
 
     /**
@@ -88,8 +114,14 @@ public class RandomChoice extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        Outcome outcomeToBet = ALL_OUTCOMES.get(RNG.nextInt(ALL_OUTCOMES.size()));
-        table.placeBet(new Bet(baseBet, outcomeToBet, this));
+        Bet betToPlace = BETS[rng.nextInt(BETS.length)];
+        betToPlace.amountBet = baseBet;
+        table.placeBet(betToPlace);
+    }
+
+    @Override
+    public void setRandomSource(RandomSource rng) {
+        this.rng = rng;
     }
 
     @Override
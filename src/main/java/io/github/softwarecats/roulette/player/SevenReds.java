@@ -17,6 +17,7 @@
 package io.github.softwarecats.roulette.player;
 
 import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.Bin;
 import io.github.softwarecats.roulette.Game;
 import io.github.softwarecats.roulette.InvalidBetException;
 import io.github.softwarecats.roulette.Table;
@@ -34,6 +35,11 @@ public class SevenReds extends Martingale {
      */
     protected final Outcome RED;
 
+    /**
+     * The id of the Outcome Red on the wheel, so that a Bin of the wheel can be checked without hashing.
+     */
+    protected final int RED_ID;
+
     /**
      * The number of reds yet to go. This starts at 7 , is reset to 7 on each non-red outcome, and decrements by 1 on
      * each red outcome.
@@ -48,7 +54,8 @@ public class SevenReds extends Martingale {
      */
     public SevenReds(Table table) {
         super(table);
-        RED = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("red")).get(0);
+        RED = table.WHEEL.getOutcome(Game.BET_NAMES.getString("red"));
+        RED_ID = table.WHEEL.getOutcomeId(RED);
     }
 
     /**
@@ -71,7 +78,14 @@ public class SevenReds extends Martingale {
      */
     @Override
     public void notifyWinners(Set<Outcome> outcomes) {
-        if (outcomes.contains(RED)) {
+        boolean red;
+        if (outcomes instanceof Bin && ((Bin) outcomes).getNumber() >= 0) {
+            red = table.WHEEL.isWinner(RED_ID, ((Bin) outcomes).getNumber());
+        } else {
+            red = outcomes.contains(RED);
+        }
+
+        if (red) {
             redCount++;
         } else {
             redCount = 0;
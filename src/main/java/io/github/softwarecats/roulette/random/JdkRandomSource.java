@@ -0,0 +1,70 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+import java.util.Random;
+
+/**
+ * JdkRandomSource adapts a java.util.Random. Its numbers are exactly those of the wrapped generator, so a Wheel given
+ * a seeded Random spins the same bins as before RandomSource existed. It is also the way to inject a non-random
+ * Random in tests.
+ */
+public class JdkRandomSource implements RandomSource {
+
+    /**
+     * The wrapped random number generator.
+     */
+    protected final Random RNG;
+
+    /**
+     * Creates a source drawing from the given generator.
+     *
+     * @param rng the generator to wrap
+     */
+    public JdkRandomSource(Random rng) {
+        this.RNG = rng;
+    }
+
+    /**
+     * Creates a source drawing from a new java.util.Random with the given seed.
+     *
+     * @param seed the seed
+     */
+    public JdkRandomSource(long seed) {
+        this(new Random(seed));
+    }
+
+    @Override
+    public long nextLong() {
+        return RNG.nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return RNG.nextInt(bound);
+    }
+
+    /**
+     * java.util.Random cannot be split, so the new source is seeded from this one’s next number instead.
+     *
+     * @return a new source
+     */
+    @Override
+    public RandomSource split() {
+        return new JdkRandomSource(Seeds.mix64(RNG.nextLong()));
+    }
+}
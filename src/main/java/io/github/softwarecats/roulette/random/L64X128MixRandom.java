@@ -0,0 +1,112 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * L64X128MixRandom is an LXM generator, the same algorithm as the JDK 17 L64X128MixRandom. It adds the output of a
+ * 64-bit linear congruential generator to that of a xoroshiro128 generator and scrambles the sum with Doug Lea’s
+ * 64-bit mixing function.
+ * <p>
+ * The additive constant of the congruential generator selects one of 2<sup>63</sup> distinct streams, and split()
+ * gives the new source a fresh constant as well as fresh state, which is what makes LXM generators suitable for
+ * splitting.
+ */
+public class L64X128MixRandom implements RandomSource {
+
+    /**
+     * The multiplier of the linear congruential generator.
+     */
+    private static final long M = 0xD1342543DE82EF95L;
+
+    /**
+     * The additive constant of the linear congruential generator, which is always odd.
+     */
+    protected final long a;
+
+    /**
+     * The state of the linear congruential generator.
+     */
+    protected long s;
+
+    /**
+     * The state of the xoroshiro128 generator, which is never all zero.
+     */
+    protected long x0, x1;
+
+    /**
+     * Creates a generator whose parameters and state are filled from the given seed by SplitMix64.
+     *
+     * @param seed the seed
+     */
+    public L64X128MixRandom(long seed) {
+        this(Seeds.derive(seed, 0), Seeds.derive(seed, 1), Seeds.derive(seed, 2), Seeds.derive(seed, 3));
+    }
+
+    /**
+     * Creates a generator with the given parameters and state.
+     *
+     * @param a  the additive constant, whose lowest bit is forced to one
+     * @param s  the congruential state
+     * @param x0 the first word of xoroshiro128 state
+     * @param x1 the second word of xoroshiro128 state
+     */
+    public L64X128MixRandom(long a, long s, long x0, long x1) {
+        this.a = a | 1;
+        this.s = s;
+        if ((x0 | x1) == 0) {
+            x0 = Seeds.GOLDEN_GAMMA;
+            x1 = Seeds.mix64(Seeds.GOLDEN_GAMMA);
+        }
+        this.x0 = x0;
+        this.x1 = x1;
+    }
+
+    /**
+     * Doug Lea’s 64-bit mixing function.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    private static long mixLea64(long z) {
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        return z ^ (z >>> 32);
+    }
+
+    @Override
+    public long nextLong() {
+        long result = mixLea64(s + x0);
+
+        // Update the LCG subgenerator
+        s = M * s + a;
+
+        // Update the xoroshiro128 subgenerator
+        long q0 = x0, q1 = x1;
+        q1 ^= q0;
+        q0 = Long.rotateLeft(q0, 24) ^ q1 ^ (q1 << 16);
+        q1 = Long.rotateLeft(q1, 37);
+        x0 = q0;
+        x1 = q1;
+
+        return result;
+    }
+
+    @Override
+    public RandomSource split() {
+        return new L64X128MixRandom(nextLong(), nextLong(), nextLong(), nextLong());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * PermutedRandomSource maps the ints drawn from another source through a permutation, when they are drawn with the
+ * permutation’s length as the bound. Given a wheel’s antithetic bins, a wheel spun with it lands in the antithetic
+ * bin of the one the wrapped source would have given, which makes a pair of sessions played from the same seed
+ * antithetic. Any other draw passes through unchanged.
+ */
+public class PermutedRandomSource implements RandomSource {
+
+    /**
+     * The wrapped source.
+     */
+    protected final RandomSource RNG;
+
+    protected final int[] PERMUTATION;
+
+    /**
+     * @param rng         the source to wrap
+     * @param permutation a permutation of the ints from zero to its length
+     */
+    public PermutedRandomSource(RandomSource rng, int[] permutation) {
+        this.RNG = rng;
+        this.PERMUTATION = permutation;
+    }
+
+    @Override
+    public long nextLong() {
+        return RNG.nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        int value = RNG.nextInt(bound);
+        return bound == PERMUTATION.length ? PERMUTATION[value] : value;
+    }
+
+    /**
+     * @return a split of the wrapped source, mapped through the same permutation
+     */
+    @Override
+    public RandomSource split() {
+        return new PermutedRandomSource(RNG.split(), PERMUTATION);
+    }
+}
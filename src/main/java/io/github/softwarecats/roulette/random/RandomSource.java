@@ -0,0 +1,67 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * RandomSource is the random number generator used to spin a Wheel and to make the random choices of a Player. Unlike
+ * java.util.Random, implementations are not thread safe and do no synchronisation, so each thread must own its own
+ * source.
+ * <p>
+ * A source can be split into a new source whose numbers are statistically independent of the rest of this source’s
+ * numbers. A single seeded source may therefore hand a private stream to every worker of a parallel simulation.
+ */
+public interface RandomSource {
+
+    /**
+     * Returns the next pseudorandom long; all 2<sup>64</sup> values are produced with roughly equal probability.
+     *
+     * @return the next pseudorandom long
+     */
+    long nextLong();
+
+    /**
+     * Returns a pseudorandom int between zero (inclusive) and the bound (exclusive), with every value equally likely.
+     * The default implementation uses Lemire’s multiply-and-shift method on the upper half of nextLong(), which
+     * needs a division only in the rare case of a rejected sample.
+     *
+     * @param bound the upper bound, which must be positive
+     * @return a pseudorandom int between zero and the bound
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        long m = (nextLong() >>> 32) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> 32) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    /**
+     * Returns a new source, independent of this one, and advances this source so that the two do not share numbers.
+     *
+     * @return a new source
+     */
+    RandomSource split();
+}
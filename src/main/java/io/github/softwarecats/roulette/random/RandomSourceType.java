@@ -0,0 +1,67 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * The built-in kinds of RandomSource, each of which can be created from a single seed.
+ */
+public enum RandomSourceType {
+    /**
+     * java.util.Random, for compatibility with results from before RandomSource existed.
+     */
+    JDK {
+        @Override
+        public RandomSource create(long seed) {
+            return new JdkRandomSource(seed);
+        }
+    },
+    /**
+     * java.util.SplittableRandom.
+     */
+    SPLITTABLE {
+        @Override
+        public RandomSource create(long seed) {
+            return new SplittableRandomSource(seed);
+        }
+    },
+    /**
+     * The xoshiro256++ generator.
+     */
+    XOSHIRO_256_PLUS_PLUS {
+        @Override
+        public RandomSource create(long seed) {
+            return new Xoshiro256PlusPlus(seed);
+        }
+    },
+    /**
+     * The L64X128MixRandom LXM generator.
+     */
+    L64X128_MIX {
+        @Override
+        public RandomSource create(long seed) {
+            return new L64X128MixRandom(seed);
+        }
+    };
+
+    /**
+     * Creates a source of this kind.
+     *
+     * @param seed the seed
+     * @return a new source
+     */
+    public abstract RandomSource create(long seed);
+}
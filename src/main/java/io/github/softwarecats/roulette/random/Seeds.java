@@ -0,0 +1,53 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * Seeds derives well-mixed seeds from a master seed, using the SplitMix64 generator. Like the java.util.Math class,
+ * this class simply has a bunch of ‘static’ methods.
+ */
+public class Seeds {
+
+    /**
+     * The SplitMix64 increment, the odd integer closest to 2<sup>64</sup> divided by the golden ratio.
+     */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The SplitMix64 finalizer. Every bit of the input affects every bit of the output.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Derives the seed of one stream from a master seed. This is the value a SplitMix64 generator seeded with the
+     * master seed would produce after the given number of draws, so it can be computed for any stream directly.
+     *
+     * @param seed  the master seed
+     * @param index the number of the stream, from zero
+     * @return the seed of the stream
+     */
+    public static long derive(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * TiltedRandomSource draws the ints of another source from a chosen distribution instead of uniformly, when they are
+ * drawn with the distribution’s length as the bound; any other draw passes through unchanged. A wheel spun with it
+ * lands in each bin with the chosen probability, so rare runs of bins can be made common.
+ * <p>
+ * To keep estimates unbiased, the source accumulates the likelihood ratio of the bins it has drawn: the product over
+ * the draws of the uniform probability of the bin over its tilted probability. A quantity of a session weighted by
+ * this ratio has the same expectation as under a fair wheel. Only nextInt() is tilted, so the bulk spins of
+ * Wheel.nextBins(), which are taken from nextLong(), are fair and unweighted.
+ */
+public class TiltedRandomSource implements RandomSource {
+
+    /**
+     * The wrapped source.
+     */
+    protected final RandomSource RNG;
+
+    /**
+     * The probability that each value or a lower one is drawn. The last is exactly one.
+     */
+    protected final double[] CUMULATIVE;
+
+    /**
+     * The logarithm of the likelihood ratio of drawing each value.
+     */
+    protected final double[] LOG_RATIOS;
+
+    private double logLikelihoodRatio;
+
+    /**
+     * @param rng           the source to wrap
+     * @param probabilities the probability of drawing each int from zero to the length, all positive and summing to
+     *                      one
+     * @throws IllegalArgumentException if a probability is not positive, or they do not sum to one
+     */
+    public TiltedRandomSource(RandomSource rng, double[] probabilities) {
+        this.RNG = rng;
+        this.CUMULATIVE = new double[probabilities.length];
+        this.LOG_RATIOS = new double[probabilities.length];
+
+        double sum = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            if (!(probabilities[i] > 0)) {
+                throw new IllegalArgumentException("Every value must have a positive probability");
+            }
+            sum += probabilities[i];
+            CUMULATIVE[i] = sum;
+            LOG_RATIOS[i] = -Math.log(probabilities[i] * probabilities.length);
+        }
+        if (Math.abs(sum - 1) > 1e-9) {
+            throw new IllegalArgumentException("Probabilities must sum to one");
+        }
+        CUMULATIVE[CUMULATIVE.length - 1] = 1;
+    }
+
+    @Override
+    public long nextLong() {
+        return RNG.nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        if (bound != CUMULATIVE.length) {
+            return RNG.nextInt(bound);
+        }
+
+        double u = (RNG.nextLong() >>> 11) * 0x1p-53;
+        int value = 0;
+        while (u >= CUMULATIVE[value]) {
+            value++;
+        }
+        logLikelihoodRatio += LOG_RATIOS[value];
+        return value;
+    }
+
+    /**
+     * @return the likelihood ratio of the values drawn since the last reset
+     */
+    public double getLikelihoodRatio() {
+        return Math.exp(logLikelihoodRatio);
+    }
+
+    /**
+     * @return the logarithm of the likelihood ratio, which does not underflow however many values are drawn
+     */
+    public double getLogLikelihoodRatio() {
+        return logLikelihoodRatio;
+    }
+
+    /**
+     * Starts a new product of likelihood ratios, at one.
+     */
+    public void resetLikelihoodRatio() {
+        logLikelihoodRatio = 0;
+    }
+
+    /**
+     * @return a split of the wrapped source, which is not tilted, so that the Player’s own random choices stay fair
+     */
+    @Override
+    public RandomSource split() {
+        return RNG.split();
+    }
+}
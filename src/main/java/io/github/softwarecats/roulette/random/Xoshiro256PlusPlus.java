@@ -0,0 +1,110 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette.random;
+
+/**
+ * Xoshiro256PlusPlus is the xoshiro256++ generator of Blackman and Vigna, the same algorithm as the JDK 17
+ * Xoshiro256PlusPlus. It has 256 bits of state and a period of 2<sup>256</sup> - 1.
+ * <p>
+ * split() hands the current state to the new source and then jumps this source 2<sup>128</sup> numbers ahead, so
+ * the streams of a source and everything split from it never overlap.
+ */
+public class Xoshiro256PlusPlus implements RandomSource {
+
+    /**
+     * The jump polynomial, equivalent to 2<sup>128</sup> calls to nextLong().
+     */
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+
+    /**
+     * The state of the generator, which is never all zero.
+     */
+    protected long s0, s1, s2, s3;
+
+    /**
+     * Creates a generator whose state is filled from the given seed by SplitMix64.
+     *
+     * @param seed the seed
+     */
+    public Xoshiro256PlusPlus(long seed) {
+        this(Seeds.derive(seed, 0), Seeds.derive(seed, 1), Seeds.derive(seed, 2), Seeds.derive(seed, 3));
+    }
+
+    /**
+     * Creates a generator with the given state.
+     *
+     * @param s0 the first word of state
+     * @param s1 the second word of state
+     * @param s2 the third word of state
+     * @param s3 the fourth word of state
+     */
+    public Xoshiro256PlusPlus(long s0, long s1, long s2, long s3) {
+        if ((s0 | s1 | s2 | s3) == 0) {
+            throw new IllegalArgumentException("state must not be all zero");
+        }
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public RandomSource split() {
+        Xoshiro256PlusPlus split = new Xoshiro256PlusPlus(s0, s1, s2, s3);
+        jump();
+        return split;
+    }
+
+    /**
+     * Advances this generator by 2<sup>128</sup> numbers.
+     */
+    public void jump() {
+        long j0 = 0, j1 = 0, j2 = 0, j3 = 0;
+        for (long jump : JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((jump & (1L << b)) != 0) {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                    j2 ^= s2;
+                    j3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = j0;
+        s1 = j1;
+        s2 = j2;
+        s3 = j3;
+    }
+}
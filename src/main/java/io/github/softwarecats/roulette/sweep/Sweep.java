@@ -0,0 +1,153 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.sweep;
+
+import io.github.softwarecats.roulette.Game;
+import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.SessionResult;
+import io.github.softwarecats.roulette.Simulator;
+import io.github.softwarecats.roulette.StreamingStatistics;
+import io.github.softwarecats.roulette.Table;
+import io.github.softwarecats.roulette.Wheel;
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.random.RandomSource;
+import io.github.softwarecats.roulette.random.Seeds;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sweep simulates every cell of a SweepGrid on a work-stealing ForkJoinPool. The range of cells is split in halves
+ * down to single cells, so idle workers steal the cells left by busy ones however unequal the cells are; a Martingale
+ * cell with a high limit takes far longer than a Passenger57 cell with a low stake.
+ * <p>
+ * Each cell gets its own Wheel, on the shared layout, and its own Table, Player and Simulator, with a source of
+ * random numbers seeded from the master seed and the cell number. The results therefore do not depend on the number
+ * of workers or on which worker plays which cell. A Player whose bet is over the table limit leaves the session.
+ */
+public class Sweep {
+
+    /**
+     * The number of worker threads. Defaults to the number of available processors.
+     */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    protected final SweepGrid GRID;
+
+    /**
+     * @param grid the grid to sweep
+     */
+    public Sweep(SweepGrid grid) {
+        this.GRID = grid;
+    }
+
+    /**
+     * Simulates every cell of the grid.
+     *
+     * @return the results of every cell
+     */
+    public SweepResults run() {
+        SweepResults results = new SweepResults(GRID);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new Cells(results, 0, results.size()));
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Simulates one cell into the results.
+     *
+     * @param results the results to fill in
+     * @param cell    the cell number
+     */
+    protected void simulate(SweepResults results, int cell) {
+        RandomSource rng = GRID.randomSourceType.create(Seeds.derive(GRID.seed, cell));
+        Wheel wheel = new Wheel(GRID.getLayout(cell), rng);
+        Table table = new Table(wheel, GRID.getTableLimit(cell), Game.TABLE_MINIMUM);
+        Player player = PlayerFactory.getPlayer(GRID.getPlayerType(cell), table, rng.split());
+
+        Simulator simulator = new Simulator(new Game(wheel, table), player);
+        simulator.sessionDuration = GRID.getSessionDuration(cell);
+        simulator.initialStake = GRID.getInitialStake(cell);
+        simulator.leaveAtLimit = true;
+
+        StreamingStatistics durations = new StreamingStatistics();
+        StreamingStatistics maxima = new StreamingStatistics();
+        StreamingStatistics finalStakes = new StreamingStatistics();
+        StreamingStatistics drawdowns = new StreamingStatistics();
+        int leftAtLimit = 0;
+        SessionResult result = new SessionResult();
+        for (int i = 0; i < GRID.samples; i++) {
+            try {
+                simulator.session(result);
+            } catch (InvalidBetException e) {
+                // Rejected bets end the session when leaveAtLimit is set
+                throw new IllegalStateException(e);
+            }
+            durations.add(result.getDuration());
+            maxima.add(result.getMaximum());
+            finalStakes.add(result.getFinalStake());
+            drawdowns.add(result.getDrawdown());
+            if (result.isLeftAtLimit()) {
+                leftAtLimit++;
+            }
+        }
+
+        results.meanDuration[cell] = durations.getMean();
+        results.stdDuration[cell] = durations.getStd();
+        results.meanMaximum[cell] = maxima.getMean();
+        results.stdMaximum[cell] = maxima.getStd();
+        results.meanFinalStake[cell] = finalStakes.getMean();
+        results.meanDrawdown[cell] = drawdowns.getMean();
+        results.leftAtLimit[cell] = (double) leftAtLimit / GRID.samples;
+    }
+
+    /**
+     * A range of cells, split in two until it is a single cell.
+     */
+    private class Cells extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SweepResults results;
+
+        private final int from;
+
+        private final int to;
+
+        Cells(SweepResults results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                simulate(results, from);
+            } else if (to > from) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Cells(results, from, middle), new Cells(results, middle, to));
+            }
+        }
+    }
+}
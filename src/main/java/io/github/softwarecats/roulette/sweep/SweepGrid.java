@@ -0,0 +1,93 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.sweep;
+
+import io.github.softwarecats.roulette.Game;
+import io.github.softwarecats.roulette.WheelLayout;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SweepGrid is the specification of a parameter sweep: every combination of the strategies, layouts, initial stakes,
+ * session durations and table limits listed is one cell. Cells are numbered with the strategy varying slowest and the
+ * table limit fastest.
+ * <p>
+ * The layouts should be frozen, since every cell on a layout shares it.
+ */
+public class SweepGrid {
+
+    public List<PlayerType> playerTypes = new ArrayList<>();
+
+    public List<WheelLayout> layouts = new ArrayList<>(Collections.singletonList(WheelLayout.AMERICAN));
+
+    public long[] initialStakes = {Game.TABLE_MINIMUM * 100};
+
+    public int[] sessionDurations = {250};
+
+    public long[] tableLimits = {Game.TABLE_LIMIT};
+
+    /**
+     * The number of sessions simulated in each cell.
+     */
+    public int samples = 1000;
+
+    /**
+     * The master seed the seed of every cell is derived from.
+     */
+    public long seed;
+
+    public RandomSourceType randomSourceType = RandomSourceType.SPLITTABLE;
+
+    /**
+     * @return the number of cells in the grid
+     */
+    public int size() {
+        long size = (long) playerTypes.size() * layouts.size() * initialStakes.length * sessionDurations.length
+                * tableLimits.length;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Grid of " + size + " cells is too large");
+        }
+        return (int) size;
+    }
+
+    public PlayerType getPlayerType(int cell) {
+        return playerTypes.get(cell / (layouts.size() * initialStakes.length * sessionDurations.length
+                * tableLimits.length));
+    }
+
+    public WheelLayout getLayout(int cell) {
+        return layouts.get(cell / (initialStakes.length * sessionDurations.length * tableLimits.length)
+                % layouts.size());
+    }
+
+    public long getInitialStake(int cell) {
+        return initialStakes[cell / (sessionDurations.length * tableLimits.length) % initialStakes.length];
+    }
+
+    public int getSessionDuration(int cell) {
+        return sessionDurations[cell / tableLimits.length % sessionDurations.length];
+    }
+
+    public long getTableLimit(int cell) {
+        return tableLimits[cell % tableLimits.length];
+    }
+}
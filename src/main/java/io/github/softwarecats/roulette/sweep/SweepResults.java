@@ -0,0 +1,154 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.sweep;
+
+import io.github.softwarecats.roulette.WheelLayout;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * SweepResults holds the results of every cell of a sweep in columns, one primitive array per statistic indexed by
+ * cell number. Workers fill in separate cells, so no locking is needed.
+ */
+public class SweepResults {
+
+    /**
+     * The header of the CSV table.
+     */
+    public static final String CSV_HEADER = "strategy,layout,initialStake,sessionDuration,tableLimit,samples,"
+            + "meanDuration,stdDuration,meanMaximum,stdMaximum,meanFinalStake,meanDrawdown,leftAtLimit";
+
+    protected final SweepGrid GRID;
+
+    protected final double[] meanDuration;
+
+    protected final double[] stdDuration;
+
+    protected final double[] meanMaximum;
+
+    protected final double[] stdMaximum;
+
+    protected final double[] meanFinalStake;
+
+    protected final double[] meanDrawdown;
+
+    /**
+     * The fraction of sessions which ended because a bet was over the table limit.
+     */
+    protected final double[] leftAtLimit;
+
+    protected SweepResults(SweepGrid grid) {
+        this.GRID = grid;
+        int cells = grid.size();
+        meanDuration = new double[cells];
+        stdDuration = new double[cells];
+        meanMaximum = new double[cells];
+        stdMaximum = new double[cells];
+        meanFinalStake = new double[cells];
+        meanDrawdown = new double[cells];
+        leftAtLimit = new double[cells];
+    }
+
+    /**
+     * @return the number of cells
+     */
+    public int size() {
+        return meanDuration.length;
+    }
+
+    public SweepGrid getGrid() {
+        return GRID;
+    }
+
+    public double getMeanDuration(int cell) {
+        return meanDuration[cell];
+    }
+
+    public double getStdDuration(int cell) {
+        return stdDuration[cell];
+    }
+
+    public double getMeanMaximum(int cell) {
+        return meanMaximum[cell];
+    }
+
+    public double getStdMaximum(int cell) {
+        return stdMaximum[cell];
+    }
+
+    public double getMeanFinalStake(int cell) {
+        return meanFinalStake[cell];
+    }
+
+    public double getMeanDrawdown(int cell) {
+        return meanDrawdown[cell];
+    }
+
+    public double getLeftAtLimit(int cell) {
+        return leftAtLimit[cell];
+    }
+
+    /**
+     * Writes one CSV row per cell, in cell order, after a header.
+     *
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        StringBuilder row = new StringBuilder();
+        for (int cell = 0; cell < size(); cell++) {
+            WheelLayout layout = GRID.getLayout(cell);
+            String layoutName = WheelLayout.nameOf(layout);
+
+            row.setLength(0);
+            row.append(GRID.getPlayerType(cell)).append(',')
+                    .append(layoutName != null ? layoutName : "CUSTOM_" + layout.size()).append(',')
+                    .append(GRID.getInitialStake(cell)).append(',')
+                    .append(GRID.getSessionDuration(cell)).append(',')
+                    .append(GRID.getTableLimit(cell)).append(',')
+                    .append(GRID.samples).append(',')
+                    .append(meanDuration[cell]).append(',')
+                    .append(stdDuration[cell]).append(',')
+                    .append(meanMaximum[cell]).append(',')
+                    .append(stdMaximum[cell]).append(',')
+                    .append(meanFinalStake[cell]).append(',')
+                    .append(meanDrawdown[cell]).append(',')
+                    .append(leftAtLimit[cell]).append('\n');
+            out.append(row);
+        }
+    }
+
+    /**
+     * Writes the CSV table to a file.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeCsv(out);
+        }
+    }
+}
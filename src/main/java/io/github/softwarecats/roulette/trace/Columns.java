@@ -0,0 +1,203 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.trace;
+
+import java.util.Arrays;
+
+/**
+ * Columns holds one block of a trace as primitive columns, and encodes it to and decodes it from bytes. Each column is
+ * stored contiguously: sessions and stakes and bet amounts as zigzag varints of the difference from the previous spin,
+ * the stakes and bet amounts being longs, outcome ids as varints offset by one so that -1 fits, and bins as single
+ * bytes. Within a session, stakes and bets change by small amounts, so most values take one or two bytes before
+ * compression.
+ */
+class Columns {
+
+    int size;
+
+    int[] sessions;
+
+    long[] stakes;
+
+    long[] bets;
+
+    int[] outcomes;
+
+    int[] bins;
+
+    private byte[] bytes = new byte[1024];
+
+    private int length;
+
+    private int position;
+
+    Columns(int capacity) {
+        sessions = new int[capacity];
+        stakes = new long[capacity];
+        bets = new long[capacity];
+        outcomes = new int[capacity];
+        bins = new int[capacity];
+    }
+
+    void ensureCapacity(int capacity) {
+        if (sessions.length < capacity) {
+            sessions = new int[capacity];
+            stakes = new long[capacity];
+            bets = new long[capacity];
+            outcomes = new int[capacity];
+            bins = new int[capacity];
+        }
+    }
+
+    /**
+     * Encodes the block into an internal buffer.
+     *
+     * @return the buffer, whose first encodedLength() bytes are the block
+     */
+    byte[] encode() {
+        length = 0;
+        deltas(sessions);
+        deltas(stakes);
+        deltas(bets);
+        for (int i = 0; i < size; i++) {
+            putVarint(outcomes[i] + 1);
+        }
+        reserve(size);
+        for (int i = 0; i < size; i++) {
+            bytes[length++] = (byte) bins[i];
+        }
+        return bytes;
+    }
+
+    int encodedLength() {
+        return length;
+    }
+
+    /**
+     * @param length the number of bytes a block will be decoded from
+     * @return a buffer of at least that many bytes
+     */
+    byte[] buffer(int length) {
+        if (bytes.length < length) {
+            bytes = new byte[length];
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes a block of the given number of spins from the internal buffer.
+     *
+     * @param spins the number of spins in the block
+     */
+    void decode(int spins) {
+        ensureCapacity(spins);
+        size = spins;
+        position = 0;
+        undeltas(sessions);
+        undeltas(stakes);
+        undeltas(bets);
+        for (int i = 0; i < size; i++) {
+            outcomes[i] = getVarint() - 1;
+        }
+        for (int i = 0; i < size; i++) {
+            bins[i] = bytes[position++] & 0xFF;
+        }
+    }
+
+    private void deltas(int[] column) {
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = column[i] - previous;
+            putVarint((delta << 1) ^ (delta >> 31));
+            previous = column[i];
+        }
+    }
+
+    private void undeltas(int[] column) {
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int zigzag = getVarint();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            column[i] = previous;
+        }
+    }
+
+    private void deltas(long[] column) {
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = column[i] - previous;
+            putVarlong((delta << 1) ^ (delta >> 63));
+            previous = column[i];
+        }
+    }
+
+    private void undeltas(long[] column) {
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long zigzag = getVarlong();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            column[i] = previous;
+        }
+    }
+
+    private void putVarint(int value) {
+        reserve(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private int getVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private void putVarlong(long value) {
+        reserve(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private long getVarlong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private void reserve(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, length + extra));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.trace;
+
+/**
+ * SpinVisitor receives the spins of a trace one at a time, as primitives.
+ */
+@FunctionalInterface
+public interface SpinVisitor {
+
+    /**
+     * @param session   the number of the session, counting from zero
+     * @param stake     the Player’s stake after the spin
+     * @param betAmount the total amount the Player bet on the spin
+     * @param outcomeId the id of the Outcome of the Player’s first bet, or -1 if there was no bet
+     * @param bin       the bin spun
+     */
+    void spin(int session, long stake, long betAmount, int outcomeId, int bin);
+}
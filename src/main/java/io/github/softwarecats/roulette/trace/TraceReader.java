@@ -0,0 +1,198 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * TraceReader reads a trace written by TraceWriter, one block at a time. The file is memory-mapped in windows, and
+ * each block is decompressed and decoded into primitive columns which are reused for the next block:
+ * <pre>
+ * try (TraceReader reader = new TraceReader(path)) {
+ *     while (reader.nextBlock()) {
+ *         for (int i = 0; i &lt; reader.size(); i++) {
+ *             total += reader.getStake(i);
+ *         }
+ *     }
+ * }
+ * </pre>
+ * or every spin may be passed to a SpinVisitor with forEach().
+ */
+public class TraceReader implements Closeable {
+
+    /**
+     * The size of the regions of the file mapped at a time.
+     */
+    protected static final int WINDOW = 64 << 20;
+
+    private final FileChannel channel;
+
+    private final long length;
+
+    private final Columns columns;
+
+    private final Inflater inflater = new Inflater();
+
+    private final int blockSize;
+
+    private byte[] compressed = new byte[1024];
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    private long position;
+
+    /**
+     * Opens a trace file.
+     *
+     * @param path the trace file
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public TraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.length = channel.size();
+
+        if (length < TraceWriter.HEADER) {
+            channel.close();
+            throw new IOException(path + " is not a trace");
+        }
+        map(0, TraceWriter.HEADER);
+        if (window.getInt() != TraceWriter.MAGIC || window.getInt() != TraceWriter.VERSION) {
+            channel.close();
+            throw new IOException(path + " is not a trace");
+        }
+        this.blockSize = window.getInt();
+        this.columns = new Columns(blockSize);
+        this.position = TraceWriter.HEADER;
+    }
+
+    /**
+     * @return the number of spins in a full block
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Reads the next block into the columns.
+     *
+     * @return false if there are no more blocks
+     * @throws IOException if the block is corrupt
+     */
+    public boolean nextBlock() throws IOException {
+        if (position + TraceWriter.BLOCK_HEADER > length) {
+            columns.size = 0;
+            return false;
+        }
+
+        map(position, TraceWriter.BLOCK_HEADER);
+        int spins = window.getInt();
+        int encodedLength = window.getInt();
+        int compressedLength = window.getInt();
+        if (spins < 0 || encodedLength < 0 || compressedLength < 0
+                || position + TraceWriter.BLOCK_HEADER + compressedLength > length) {
+            throw new IOException("Corrupt trace block at " + position);
+        }
+        map(position + TraceWriter.BLOCK_HEADER, compressedLength);
+
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        window.get(compressed, 0, compressedLength);
+        byte[] encoded = columns.buffer(encodedLength);
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            if (inflater.inflate(encoded, 0, encodedLength) != encodedLength) {
+                throw new IOException("Corrupt trace block at " + position);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt trace block at " + position, e);
+        }
+        columns.decode(spins);
+
+        position += TraceWriter.BLOCK_HEADER + compressedLength;
+        return true;
+    }
+
+    private void map(long start, int size) throws IOException {
+        if (window == null || start < windowStart || start + size > windowStart + window.capacity()) {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(length - start, Math.max(WINDOW, size)));
+        }
+        window.position((int) (start - windowStart));
+    }
+
+    /**
+     * @return the number of spins in the current block
+     */
+    public int size() {
+        return columns.size;
+    }
+
+    public int getSession(int spin) {
+        return columns.sessions[spin];
+    }
+
+    public long getStake(int spin) {
+        return columns.stakes[spin];
+    }
+
+    public long getBetAmount(int spin) {
+        return columns.bets[spin];
+    }
+
+    public int getOutcomeId(int spin) {
+        return columns.outcomes[spin];
+    }
+
+    public int getBin(int spin) {
+        return columns.bins[spin];
+    }
+
+    /**
+     * Passes every remaining spin of the trace to a visitor.
+     *
+     * @param visitor the visitor
+     * @throws IOException if a block is corrupt
+     */
+    public void forEach(SpinVisitor visitor) throws IOException {
+        while (nextBlock()) {
+            for (int i = 0; i < columns.size; i++) {
+                visitor.spin(columns.sessions[i], columns.stakes[i], columns.bets[i], columns.outcomes[i],
+                        columns.bins[i]);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * TraceWriter records every spin of a simulation to a file: the session, the Player’s stake after the spin, the amount
+ * bet, the Outcome bet on and the bin spun. The spins are gathered into primitive columns of blockSize spins; a full
+ * block is delta and varint encoded, compressed with a Deflater, and appended to the file through its channel, so the
+ * file only ever holds the blocks written. Recording a spin stores three ints and two longs, so no objects are created
+ * per spin.
+ * <p>
+ * The file starts with a header of the magic number, the format version and the block size. Each block follows as
+ * the number of spins, the encoded length, the compressed length and the compressed bytes. A TraceWriter is not
+ * thread safe, and the trace is only complete once it is closed.
+ */
+public class TraceWriter implements Closeable {
+
+    /**
+     * Identifies a trace file, and its format version.
+     */
+    public static final int MAGIC = 0x524C5452;
+    public static final int VERSION = 2;
+
+    /**
+     * The number of spins in a block, unless another is given.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 14;
+
+    protected static final int HEADER = 3 * 4;
+
+    protected static final int BLOCK_HEADER = 3 * 4;
+
+    protected final int BLOCK_SIZE;
+
+    private final FileChannel channel;
+
+    private final Columns columns;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    /**
+     * The block being written: its header, followed by the compressed bytes.
+     */
+    private byte[] compressed = new byte[1024];
+
+    private ByteBuffer buffer = ByteBuffer.wrap(compressed);
+
+    private int session = -1;
+
+    private long spins;
+
+    /**
+     * Creates a trace file, replacing any existing file, with the default block size.
+     *
+     * @param path the trace file
+     * @throws IOException if the file cannot be created
+     */
+    public TraceWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a trace file, replacing any existing file.
+     *
+     * @param path      the trace file
+     * @param blockSize the number of spins in a block
+     * @throws IOException if the file cannot be created
+     */
+    public TraceWriter(Path path, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.BLOCK_SIZE = blockSize;
+        this.columns = new Columns(blockSize);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(blockSize);
+        write(HEADER);
+    }
+
+    /**
+     * Starts a new session. The spins recorded from now on belong to it.
+     *
+     * @return the number of the session, counting from zero
+     */
+    public int startSession() {
+        return ++session;
+    }
+
+    /**
+     * Records a spin of the current session.
+     *
+     * @param stake     the Player’s stake after the spin
+     * @param betAmount the total amount the Player bet on the spin
+     * @param outcomeId the id of the Outcome of the Player’s first bet, or -1 if there was no bet
+     * @param bin       the bin spun
+     * @throws UncheckedIOException if a full block cannot be written
+     */
+    public void record(long stake, long betAmount, int outcomeId, int bin) {
+        int i = columns.size;
+        columns.sessions[i] = Math.max(session, 0);
+        columns.stakes[i] = stake;
+        columns.bets[i] = betAmount;
+        columns.outcomes[i] = outcomeId;
+        columns.bins[i] = bin;
+        columns.size = i + 1;
+        spins++;
+
+        if (columns.size == BLOCK_SIZE) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of spins recorded
+     */
+    public long getSpins() {
+        return spins;
+    }
+
+    /**
+     * Writes the spins recorded so far as a block.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    public void flush() throws IOException {
+        if (columns.size == 0) {
+            return;
+        }
+
+        byte[] encoded = columns.encode();
+        int encodedLength = columns.encodedLength();
+        deflater.reset();
+        deflater.setInput(encoded, 0, encodedLength);
+        deflater.finish();
+        int length = BLOCK_HEADER;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+                buffer = ByteBuffer.wrap(compressed);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        buffer.clear();
+        buffer.putInt(columns.size).putInt(encodedLength).putInt(length - BLOCK_HEADER);
+        write(length);
+        columns.size = 0;
+    }
+
+    /**
+     * Appends the first bytes of the buffer to the file.
+     */
+    private void write(int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the last block and closes the trace.
+     *
+     * @throws IOException if the trace cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.analysis.MarkovAnalyzer;
+import io.github.softwarecats.roulette.analysis.StrategyChain;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import io.github.softwarecats.roulette.random.SplittableRandomSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSimulatorTest {
+
+    private Wheel wheel;
+
+    @Before
+    public void setUp() {
+        wheel = new Wheel(RandomSourceType.SPLITTABLE.create(11));
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+    }
+
+    @Test
+    public void gather() {
+        BatchSimulator simulator = new BatchSimulator(PlayerType.MARTINGALE, wheel);
+        simulator.samples = 1000;
+        simulator.batchSize = 64;
+        simulator.keepRawData = true;
+        simulator.gather();
+
+        assertEquals(simulator.samples, simulator.durations.size());
+        assertEquals(simulator.samples, simulator.maxima.size());
+        assertEquals(simulator.samples, simulator.getDurationStatistics().getCount());
+        for (int duration : simulator.durations) {
+            assertTrue(duration > 0 && duration <= simulator.sessionDuration);
+        }
+    }
+
+    @Test
+    public void agreesWithAnalysis() {
+        for (PlayerType type : new PlayerType[]{PlayerType.PASSENGER57, PlayerType.MARTINGALE,
+                PlayerType.FIBONACCI, PlayerType.SEVEN_REDS}) {
+            MarkovAnalyzer analyzer = new MarkovAnalyzer(StrategyChain.of(type, wheel));
+            analyzer.sessionDuration = 50;
+            analyzer.initialStake = 20;
+            analyzer.analyse();
+
+            BatchSimulator simulator = new BatchSimulator(type, wheel);
+            simulator.sessionDuration = 50;
+            simulator.initialStake = 20;
+            simulator.samples = 20000;
+            simulator.gather();
+
+            double n = Math.sqrt(simulator.samples);
+            assertEquals(type.toString(), analyzer.expectedDuration, simulator.meanDuration,
+                    5 * analyzer.stdDuration / n);
+            assertEquals(type.toString(), analyzer.expectedMaximum, simulator.meanMaximum,
+                    5 * analyzer.stdMaximum / n);
+        }
+    }
+
+    @Test
+    public void notPlaying() {
+        BatchSimulator simulator = new BatchSimulator(PlayerType.FIBONACCI, wheel);
+        simulator.initialStake = 0;
+        simulator.gather();
+
+        assertEquals(0, simulator.meanDuration, 0);
+        assertEquals(0, simulator.meanMaximum, 0);
+    }
+
+    @Test
+    public void largeStakeAgreesWithSimulator() throws InvalidBetException {
+        for (long initialStake : new long[]{1L << 30, Integer.MAX_VALUE, 1L << 40}) {
+            BatchSimulator batch = new BatchSimulator(PlayerType.MARTINGALE, wheel);
+            batch.initialStake = initialStake;
+            batch.samples = 2000;
+            batch.gather();
+
+            Simulator simulator = unlimited(PlayerType.MARTINGALE, wheel, initialStake);
+            simulator.samples = 2000;
+            simulator.gather();
+
+            double n = Math.sqrt(batch.samples);
+            assertEquals(simulator.meanDuration, batch.meanDuration, 0);
+            assertEquals(simulator.meanMaximum, batch.meanMaximum,
+                    5 * Math.max(simulator.stdMaximum, batch.stdMaximum) / n);
+            assertTrue(batch.getMaximumStatistics().getMin() >= initialStake);
+        }
+    }
+
+    @Test
+    public void losingStreakAgreesWithSimulator() throws InvalidBetException {
+        // Every spin lands on zero, so a Martingale doubles until the bet is beyond the stake or saturates
+        Wheel zero = new Wheel(new SplittableRandomSource(1) {
+            @Override
+            public int nextInt(int bound) {
+                return 0;
+            }
+
+            @Override
+            public long nextLong() {
+                return 1;
+            }
+        });
+        new BinBuilder().buildBins(zero);
+
+        for (long initialStake : new long[]{1L << 30, (1L << 31) + 5, Long.MAX_VALUE}) {
+            BatchSimulator batch = new BatchSimulator(PlayerType.MARTINGALE, zero);
+            batch.initialStake = initialStake;
+            batch.sessionDuration = 100;
+            batch.samples = 3;
+            batch.gather();
+
+            Simulator simulator = unlimited(PlayerType.MARTINGALE, zero, initialStake);
+            simulator.sessionDuration = 100;
+            simulator.samples = 3;
+            simulator.gather();
+
+            assertEquals(simulator.meanDuration, batch.meanDuration, 0);
+            assertEquals(simulator.getMaximumStatistics().getMax(), batch.getMaximumStatistics().getMax());
+        }
+        BatchSimulator saturated = new BatchSimulator(PlayerType.MARTINGALE, zero);
+        saturated.initialStake = Long.MAX_VALUE;
+        saturated.gather();
+        assertEquals(63, saturated.meanDuration, 0);
+    }
+
+    /**
+     * @return a Simulator of the strategy on a table without a limit, like a BatchSimulator
+     */
+    private static Simulator unlimited(PlayerType type, Wheel wheel, long initialStake) {
+        Table table = new Table(wheel, Long.MAX_VALUE, Game.TABLE_MINIMUM);
+        Simulator simulator = new Simulator(new Game(wheel, table), PlayerFactory.getPlayer(type, table));
+        simulator.initialStake = initialStake;
+        return simulator;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedStrategy() {
+        new BatchSimulator(PlayerType.CANCELLATION, wheel);
+    }
+}
@@ -19,6 +19,7 @@ package io.github.softwarecats.roulette;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class BinBuilderTest {
@@ -39,4 +40,21 @@ public class BinBuilderTest {
             assertTrue(wheel.getBin(i).size() > 0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void registersCategories() {
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+
+        assertEquals(38, wheel.getOutcomes(OutcomeCategory.STRAIGHT).size());
+        assertEquals(57, wheel.getOutcomes(OutcomeCategory.SPLIT).size());
+        assertEquals(12, wheel.getOutcomes(OutcomeCategory.STREET).size());
+        assertEquals(22, wheel.getOutcomes(OutcomeCategory.CORNER).size());
+        assertEquals(1, wheel.getOutcomes(OutcomeCategory.FIVE).size());
+        assertEquals(11, wheel.getOutcomes(OutcomeCategory.LINE).size());
+        assertEquals(3, wheel.getOutcomes(OutcomeCategory.DOZEN).size());
+        assertEquals(3, wheel.getOutcomes(OutcomeCategory.COLUMN).size());
+        assertEquals(6, wheel.getOutcomes(OutcomeCategory.EVEN_MONEY).size());
+        assertEquals(wheel.getAllOutcomes().size(), wheel.getOutcomeRegistry().size());
+    }
+}
@@ -18,9 +18,16 @@ package io.github.softwarecats.roulette;
 
 import io.github.softwarecats.roulette.player.Passenger57;
 import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.SplittableRandomSource;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -72,4 +79,98 @@ public class GameTest {
             assertFalse(won[0]);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cycleSharedTable() throws InvalidBetException {
+        Table table = new Table(wheel);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Player player = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+            player.stake = 10;
+            player.roundsToGo = 5;
+            players.add(player);
+        }
+        Player broke = players.get(2);
+        broke.stake = 0;
+
+        Game game = new Game(wheel, table);
+        game.cycle(players);
+
+        // One spin settles both players alike, and the player who cannot bet sits out
+        long stake = players.get(0).stake;
+        assertTrue(stake == 11 || stake == 9);
+        assertEquals(stake, players.get(1).stake);
+        assertEquals(4, players.get(0).roundsToGo);
+        assertEquals(4, players.get(1).roundsToGo);
+        assertEquals(0, broke.stake);
+        assertEquals(5, broke.roundsToGo);
+        assertEquals(0, table.size());
+
+        int black = wheel.getOutcomeId(wheel.getOutcome("Black"));
+        assertEquals(stake == 11, wheel.isWinner(black, new Random(1).nextInt(38)));
+    }
+
+    @Test
+    public void cycleWithLaPartage() throws InvalidBetException {
+        // Always spin zero
+        Wheel french = new Wheel(WheelLayout.FRENCH, new SplittableRandomSource(1) {
+            @Override
+            public int nextInt(int bound) {
+                return 0;
+            }
+        });
+        Table table = new Table(french);
+        Player player = new Passenger57(table) {
+            {
+                baseBet = 4;
+            }
+        };
+        player.stake = 10;
+        player.roundsToGo = 1;
+
+        Game game = new Game(french, table);
+        game.cycle(player);
+
+        assertEquals(8, player.stake);
+    }
+
+    @Test
+    public void cycleDoesNotAllocate() throws InvalidBetException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+
+        for (PlayerType type : PlayerType.values()) {
+            Table table = new Table(wheel);
+            Player player = PlayerFactory.getPlayer(type, table, new Random(1));
+            Game game = new Game(wheel, table);
+
+            // Warm up, so that any lazily created state already exists and the compiled code has settled
+            playCycles(game, player, 50_000);
+
+            // A deoptimization may still rematerialize a few objects, so the best of several runs is taken
+            long allocated = Long.MAX_VALUE;
+            for (int run = 0; run < 3 && allocated > 0; run++) {
+                long before = allocations.getThreadAllocatedBytes(thread);
+                playCycles(game, player, 100_000);
+                allocated = Math.min(allocated, allocations.getThreadAllocatedBytes(thread) - before);
+            }
+
+            assertEquals(type + " allocated " + allocated + " bytes", 0, allocated);
+        }
+    }
+
+    private void playCycles(Game game, Player player, int cycles) throws InvalidBetException {
+        for (int i = 0; i < cycles; i++) {
+            if (i % 16 == 0) {
+                player.newRound();
+            }
+            player.stake = 1_000_000;
+            player.roundsToGo = 1_000;
+            game.cycle(player);
+        }
+    }
+}
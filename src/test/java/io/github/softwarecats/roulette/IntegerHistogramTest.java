@@ -0,0 +1,103 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntegerHistogramTest {
+
+    @Test
+    public void exactBelowPrecision() {
+        IntegerHistogram histogram = new IntegerHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.add(value);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getQuantile(0));
+        assertEquals(1, histogram.getQuantile(0.01));
+        assertEquals(50, histogram.getMedian());
+        assertEquals(99, histogram.getQuantile(0.99));
+        assertEquals(100, histogram.getQuantile(1));
+    }
+
+    @Test
+    public void buckets() {
+        IntegerHistogram histogram = new IntegerHistogram(4);
+        long previous = -1;
+        for (int index = 0; index < histogram.counts.length; index++) {
+            assertEquals(previous + 1, histogram.lowest(index));
+            assertEquals(index, histogram.index(histogram.lowest(index)));
+            assertEquals(index, histogram.index(histogram.highest(index)));
+            previous = histogram.highest(index);
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    public void relativeError() {
+        Random rng = new Random(5);
+        long[] values = new long[100_000];
+        IntegerHistogram histogram = new IntegerHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(rng.nextDouble() * 40);
+            histogram.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[]{0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(quantile * values.length) - 1];
+            assertEquals(exact, histogram.getQuantile(quantile), exact / 128.0 + 1);
+        }
+    }
+
+    @Test
+    public void combine() {
+        IntegerHistogram all = new IntegerHistogram();
+        IntegerHistogram first = new IntegerHistogram();
+        IntegerHistogram second = new IntegerHistogram();
+        Random rng = new Random(6);
+        for (int i = 0; i < 10_000; i++) {
+            int value = rng.nextInt(5000);
+            all.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+        }
+
+        first.combine(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMin(), first.getMin());
+        assertEquals(all.getMax(), first.getMax());
+        assertTrue(Arrays.equals(all.counts, first.counts));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void combineDifferentPrecision() {
+        new IntegerHistogram(7).combine(new IntegerHistogram(8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative() {
+        new IntegerHistogram().add(-1);
+    }
+}
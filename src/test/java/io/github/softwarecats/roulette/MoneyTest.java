@@ -0,0 +1,73 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MoneyTest {
+
+    @Test
+    public void add() {
+        assertEquals(5, Money.add(2, 3));
+        assertEquals(Long.MAX_VALUE, Money.add(Long.MAX_VALUE, 1));
+        assertEquals(Long.MIN_VALUE, Money.add(Long.MIN_VALUE, -1));
+        assertEquals(-1, Money.add(Long.MAX_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void multiply() {
+        assertEquals(1L << 32, Money.multiply(1L << 31, 2));
+        assertEquals(Long.MAX_VALUE, Money.multiply(1L << 62, 2));
+        assertEquals(Long.MAX_VALUE, Money.multiply(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(Long.MIN_VALUE, Money.multiply(1L << 62, -4));
+        assertEquals(Long.MIN_VALUE, Money.multiply(Long.MIN_VALUE, 1));
+        assertEquals(-6, Money.multiply(-2, 3));
+    }
+
+    @Test
+    public void payout() {
+        assertEquals(36L << 32, Money.payout(1L << 32, 35));
+    }
+
+    @Test
+    public void canPlace() {
+        assertTrue(Money.canPlace(10, 10));
+        assertFalse(Money.canPlace(11, 10));
+        assertTrue(Money.canPlace(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+        assertFalse(Money.canPlace(Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void payoutOverflow() {
+        Money.payout(Long.MAX_VALUE / 2, 2);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void winOverflow() throws InvalidBetException {
+        Wheel wheel = new Wheel(WheelLayout.AMERICAN, RandomSourceType.SPLITTABLE.create(1));
+        Table table = new Table(wheel, Long.MAX_VALUE, Game.TABLE_MINIMUM);
+        Bet bet = new Bet(Long.MAX_VALUE / 16, wheel.getOutcome("1"));
+        table.placeBet(bet);
+        bet.winAmount();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.casino.event.Outcome;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class OutcomeRegistryTest {
+
+    OutcomeRegistry registry;
+
+    Outcome split;
+
+    Outcome street;
+
+    @Before
+    public void setUp() {
+        registry = new OutcomeRegistry();
+        split = new Outcome("Split 1-2", Game.SPLIT_BET_PAYOUT);
+        street = new Outcome("Street 1-2-3", Game.STREET_BET_PAYOUT);
+
+        registry.register("Split 1-2", OutcomeCategory.SPLIT, split);
+        registry.register("Street 1-2-3", OutcomeCategory.STREET, street);
+    }
+
+    @Test
+    public void getOutcome() {
+        assertSame(split, registry.getOutcome("Split 1-2"));
+        assertNull(registry.getOutcome("Split"));
+    }
+
+    @Test
+    public void register() {
+        registry.register("Split 1-2", OutcomeCategory.SPLIT, new Outcome("Split 1-2", Game.SPLIT_BET_PAYOUT));
+
+        assertEquals(2, registry.size());
+        assertSame(split, registry.getOutcome("Split 1-2"));
+        assertEquals(1, registry.getOutcomes(OutcomeCategory.SPLIT).size());
+    }
+
+    @Test
+    public void getOutcomes() {
+        assertEquals(List.of(street), registry.getOutcomes(OutcomeCategory.STREET));
+        assertEquals(List.of(), registry.getOutcomes(OutcomeCategory.CORNER));
+        assertSame(registry.getOutcomes(OutcomeCategory.STREET), registry.getOutcomes(OutcomeCategory.STREET));
+    }
+
+    @Test
+    public void getOutcomesStartingWith() {
+        assertEquals(List.of(split, street), registry.getOutcomesStartingWith("S"));
+        assertEquals(List.of(street), registry.getOutcomesStartingWith("Street"));
+
+        Outcome split23 = new Outcome("Split 2-3", Game.SPLIT_BET_PAYOUT);
+        registry.register("Split 2-3", OutcomeCategory.SPLIT, split23);
+        assertEquals(List.of(split, split23), registry.getOutcomesStartingWith("Split"));
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelSimulatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected ParallelSimulator simulate(PlayerType type, int parallelism) {
+        ParallelSimulator simulator = new ParallelSimulator(type, 42);
+        simulator.samples = 1000;
+        simulator.blockSize = 64;
+        simulator.parallelism = parallelism;
+        simulator.keepRawData = true;
+
+        try {
+            simulator.gather();
+        } catch (InvalidBetException e) {
+            fail("Player is broken, should not place invalid bet");
+        }
+        return simulator;
+    }
+
+    @Test
+    public void gather() {
+        ParallelSimulator simulator = simulate(PlayerType.MARTINGALE, 4);
+
+        assertEquals(simulator.samples, simulator.durations.size());
+        assertEquals(simulator.samples, simulator.maxima.size());
+    }
+
+    @Test
+    public void gatherIsReproducible() {
+        for (PlayerType type : PlayerType.values()) {
+            ParallelSimulator single = simulate(type, 1);
+            ParallelSimulator multiple = simulate(type, 8);
+
+            assertEquals(single.durations, multiple.durations);
+            assertEquals(single.maxima, multiple.maxima);
+            assertEquals(single.meanDuration, multiple.meanDuration, 0);
+            assertEquals(single.stdDuration, multiple.stdDuration, 0);
+            assertEquals(single.meanMaximum, multiple.meanMaximum, 0);
+            assertEquals(single.stdMaximum, multiple.stdMaximum, 0);
+            assertEquals(single.getDurationHistogram().toString(), multiple.getDurationHistogram().toString());
+        }
+    }
+
+    @Test
+    public void gatherToTargetWidth() throws InvalidBetException {
+        ParallelSimulator single = adaptive(1);
+        ParallelSimulator multiple = adaptive(8);
+
+        assertTrue(single.converged);
+        assertTrue(single.maximumRelativeWidth <= 0.01);
+        assertTrue(single.getDurationStatistics().getCount() < single.samples);
+        assertEquals(0, single.getDurationStatistics().getCount() % single.blockSize);
+        assertEquals(single.getDurationStatistics().getCount(), multiple.getDurationStatistics().getCount());
+        assertEquals(single.meanMaximum, multiple.meanMaximum, 0);
+        assertEquals(single.durations, multiple.durations);
+    }
+
+    private ParallelSimulator adaptive(int parallelism) throws InvalidBetException {
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        simulator.samples = 1_000_000;
+        simulator.blockSize = 64;
+        simulator.parallelism = parallelism;
+        simulator.keepRawData = true;
+        simulator.targetRelativeWidth = 0.01;
+        simulator.gather();
+        return simulator;
+    }
+
+    @Test
+    public void resumeFromCheckpoint() throws IOException, InvalidBetException {
+        ParallelSimulator uninterrupted = simulate(PlayerType.FIBONACCI, 2);
+        Path checkpoint = folder.getRoot().toPath().resolve("run.checkpoint");
+
+        // Stop the first run at its second checkpoint
+        ParallelSimulator interrupted = new ParallelSimulator(PlayerType.FIBONACCI, 42) {
+            @Override
+            protected void checkpointed(int nextBlock) {
+                if (nextBlock >= 4) {
+                    throw new IllegalStateException("Interrupted");
+                }
+            }
+        };
+        configure(interrupted, checkpoint);
+        try {
+            interrupted.gather();
+            fail("Run should have been interrupted");
+        } catch (IllegalStateException e) {
+            assertTrue(Files.exists(checkpoint));
+        }
+        assertEquals(4, Checkpoint.read(checkpoint).getNextBlock());
+
+        ParallelSimulator resumed = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        configure(resumed, checkpoint);
+        resumed.parallelism = 3;
+        resumed.gather();
+
+        assertEquals(uninterrupted.getDurationStatistics().getCount(), resumed.getDurationStatistics().getCount());
+        assertEquals(uninterrupted.meanDuration, resumed.meanDuration, 0);
+        assertEquals(uninterrupted.stdDuration, resumed.stdDuration, 0);
+        assertEquals(uninterrupted.meanMaximum, resumed.meanMaximum, 0);
+        assertEquals(uninterrupted.stdMaximum, resumed.stdMaximum, 0);
+        assertEquals(uninterrupted.getMaximumHistogram().toString(), resumed.getMaximumHistogram().toString());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void failureStopsAllWorkers() throws IOException, InvalidBetException {
+        Path checkpoint = folder.getRoot().toPath().resolve("run.checkpoint");
+        AtomicInteger failedAt = new AtomicInteger();
+        AtomicInteger lateCheckpoints = new AtomicInteger();
+
+        ParallelSimulator failing = new ParallelSimulator(PlayerType.FIBONACCI, 42) {
+            @Override
+            protected void checkpointed(int nextBlock) {
+                if (failedAt.get() > 0) {
+                    lateCheckpoints.incrementAndGet();
+                } else if (nextBlock >= 4) {
+                    failedAt.set(nextBlock);
+                    throw new IllegalStateException("Failed");
+                }
+            }
+        };
+        configure(failing, checkpoint);
+        failing.parallelism = 4;
+        try {
+            failing.gather();
+            fail("Run should have failed");
+        } catch (IllegalStateException e) {
+            assertEquals("Failed", e.getMessage());
+        }
+
+        // No worker is left to combine blocks or overwrite the checkpoint
+        assertEquals(0, lateCheckpoints.get());
+        assertEquals(failedAt.get(), Checkpoint.read(checkpoint).getNextBlock());
+    }
+
+    @Test
+    public void gatherWithinTimeBudget() throws InvalidBetException {
+        // The block arithmetic must not overflow with the largest number of samples
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.samples = Integer.MAX_VALUE;
+        simulator.parallelism = 2;
+        simulator.timeBudget = 200;
+        simulator.gather();
+
+        assertFalse(simulator.converged);
+        long count = simulator.getDurationStatistics().getCount();
+        assertTrue(count > 0 && count < Integer.MAX_VALUE);
+        assertEquals(0, count % simulator.blockSize);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyBlocks() throws InvalidBetException {
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.blockSize = 0;
+        simulator.gather();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void resumeFromDifferentRun() throws IOException, InvalidBetException {
+        Path checkpoint = folder.getRoot().toPath().resolve("run.checkpoint");
+        ParallelSimulator other = new ParallelSimulator(PlayerType.MARTINGALE, 7);
+        new Checkpoint(other, 1).write(checkpoint);
+
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.checkpoint = checkpoint;
+        simulator.gather();
+    }
+
+    private void configure(ParallelSimulator simulator, Path checkpoint) {
+        simulator.samples = 1000;
+        simulator.blockSize = 64;
+        simulator.parallelism = 1;
+        simulator.checkpoint = checkpoint;
+        simulator.checkpointBlocks = 2;
+    }
+}
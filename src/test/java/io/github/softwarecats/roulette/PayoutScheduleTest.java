@@ -0,0 +1,55 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.casino.event.Outcome;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PayoutScheduleTest {
+
+    @Test
+    public void standardMatchesOutcomes() {
+        WheelLayout layout = WheelLayout.AMERICAN;
+        for (Outcome outcome : layout.getAllOutcomes().values()) {
+            int id = layout.getOutcomeId(outcome);
+            assertEquals(outcome.winAmount(1).intValue(), layout.getOdds(id));
+            assertEquals(layout.getOdds(id), PayoutSchedule.STANDARD.getOdds(layout, id));
+        }
+    }
+
+    @Test
+    public void withOdds() {
+        WheelLayout layout = WheelLayout.EUROPEAN;
+        PayoutSchedule schedule = new PayoutSchedule().withOdds(OutcomeCategory.DOZEN, 3);
+        int dozen = layout.getOutcomeId(layout.getOutcome(Game.BET_NAMES.getString("dozen") + " 1-12"));
+        int split = layout.getOutcomeId(layout.getOutcome(Game.BET_NAMES.getString("split") + " 1-2"));
+
+        assertEquals(3, schedule.getOdds(layout, dozen));
+        assertEquals(Game.SPLIT_BET_PAYOUT, schedule.getOdds(layout, split));
+        assertEquals(-1, schedule.getOdds(OutcomeCategory.SPLIT));
+        assertEquals(-1, schedule.getOdds(layout, -1));
+        assertEquals("DOZEN=3:1", schedule.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeOdds() {
+        new PayoutSchedule().withOdds(OutcomeCategory.STRAIGHT, -1);
+    }
+}
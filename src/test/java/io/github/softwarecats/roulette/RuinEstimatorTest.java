@@ -0,0 +1,85 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.analysis.MarkovAnalyzer;
+import io.github.softwarecats.roulette.analysis.StrategyChain;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RuinEstimatorTest {
+
+    private RuinEstimator estimate(PlayerType type, int stake, int duration, double tilt) throws InvalidBetException {
+        RuinEstimator estimator = new RuinEstimator(type, WheelLayout.AMERICAN, 42);
+        estimator.initialStake = stake;
+        estimator.sessionDuration = duration;
+        estimator.samples = 20_000;
+        estimator.tiltedLossProbability = tilt;
+        estimator.gather();
+        return estimator;
+    }
+
+    private double exact(PlayerType type, int stake, int duration) {
+        Wheel wheel = new Wheel(WheelLayout.AMERICAN, RandomSourceType.SPLITTABLE.create(1));
+        MarkovAnalyzer analyzer = new MarkovAnalyzer(StrategyChain.of(type, wheel));
+        analyzer.initialStake = stake;
+        analyzer.sessionDuration = duration;
+        analyzer.analyse();
+        return analyzer.ruinProbability;
+    }
+
+    @Test
+    public void rareRuin() throws InvalidBetException {
+        // A Martingale with 2^20 - 1 is only ruined by 20 losses in a row, about once in 130,000 sessions of 25
+        int stake = (1 << 20) - 1;
+        RuinEstimator estimator = estimate(PlayerType.MARTINGALE, stake, 25, 0.8);
+        double exact = exact(PlayerType.MARTINGALE, stake, 25);
+
+        assertEquals(exact, estimator.getRuinProbability(), 4 * estimator.getStandardError());
+        assertTrue(estimator.getHalfWidth() < 0.25 * exact);
+        assertTrue(estimator.getRuinedSessions() > 100);
+        assertTrue(estimator.getVarianceReduction() > 100);
+    }
+
+    @Test
+    public void fibonacci() throws InvalidBetException {
+        RuinEstimator estimator = estimate(PlayerType.FIBONACCI, 2000, 40, 0.8);
+        double exact = exact(PlayerType.FIBONACCI, 2000, 40);
+
+        assertEquals(exact, estimator.getRuinProbability(), 4 * estimator.getStandardError());
+    }
+
+    @Test
+    public void untilted() throws InvalidBetException {
+        RuinEstimator plain = new RuinEstimator(PlayerType.MARTINGALE, WheelLayout.AMERICAN, 42);
+        RuinEstimator estimator = estimate(PlayerType.MARTINGALE, 100, 50, plain.getLossProbability());
+
+        // Every weight is one, so this is the fraction of sessions ruined
+        assertEquals(20.0 / 38, plain.getLossProbability(), 1e-12);
+        assertEquals((double) estimator.getRuinedSessions() / estimator.samples, estimator.getRuinProbability(), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void certainLoss() throws InvalidBetException {
+        estimate(PlayerType.MARTINGALE, 100, 50, 1);
+    }
+}
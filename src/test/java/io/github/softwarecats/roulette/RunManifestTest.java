@@ -0,0 +1,85 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RunManifestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RunConfiguration configure(PlayerType type, long seed, int parallelism) {
+        RunConfiguration configuration = new RunConfiguration(type, seed);
+        configuration.layout = WheelLayout.EUROPEAN;
+        configuration.samples = 300;
+        configuration.blockSize = 32;
+        configuration.randomSourceType = RandomSourceType.XOSHIRO_256_PLUS_PLUS;
+        configuration.parallelism = parallelism;
+        return configuration;
+    }
+
+    @Test
+    public void reproduce() throws IOException, InvalidBetException {
+        RunManifest original = configure(PlayerType.RANDOM_CHOICE, 1234, 4).run();
+        Path path = folder.getRoot().toPath().resolve("run.manifest");
+        original.write(path);
+
+        RunManifest read = RunManifest.read(path);
+        assertEquals("EUROPEAN", read.LAYOUT);
+        assertEquals(RunManifest.DEVELOPMENT_VERSION, read.CODE_VERSION);
+        assertTrue(original.reproduces(read));
+
+        RunConfiguration again = read.getConfiguration();
+        again.parallelism = 1;
+        assertTrue(original.reproduces(again.run()));
+    }
+
+    @Test
+    public void differentSeed() throws InvalidBetException {
+        RunManifest one = configure(PlayerType.RANDOM_CHOICE, 1, 2).run();
+        RunManifest other = configure(PlayerType.RANDOM_CHOICE, 2, 2).run();
+
+        assertFalse(one.reproduces(other));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void customLayout() throws InvalidBetException {
+        RunConfiguration configuration = configure(PlayerType.MARTINGALE, 1, 1);
+        WheelLayout layout = new WheelLayout(37);
+        new BinBuilder().buildBins(layout);
+        configuration.layout = layout.freeze();
+        configuration.run();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingProperty() {
+        RunManifest.parse("seed=1\nstrategy=MARTINGALE\n");
+    }
+}
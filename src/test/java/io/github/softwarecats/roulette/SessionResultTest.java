@@ -0,0 +1,90 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SessionResultTest {
+
+    @Test
+    public void summary() {
+        SessionResult result = new SessionResult();
+        result.reset(100);
+        for (int stake : new int[]{110, 90, 130, 95, 120}) {
+            result.add(stake);
+        }
+
+        assertEquals(5, result.getDuration());
+        assertEquals(130, result.getMaximum());
+        assertEquals(90, result.getMinimum());
+        assertEquals(120, result.getFinalStake());
+        assertEquals(35, result.getDrawdown());
+    }
+
+    @Test
+    public void emptySession() {
+        SessionResult result = new SessionResult();
+        result.reset(100);
+
+        assertEquals(0, result.getDuration());
+        assertEquals(100, result.getMaximum());
+        assertEquals(100, result.getMinimum());
+        assertEquals(0, result.getDrawdown());
+    }
+
+    @Test
+    public void maximumBelowInitialStake() {
+        SessionResult result = new SessionResult();
+        result.reset(100);
+        result.add(99);
+        result.add(98);
+
+        assertEquals(99, result.getMaximum());
+        assertEquals(2, result.getDrawdown());
+    }
+
+    @Test
+    public void keepStakes() {
+        SessionResult result = new SessionResult(true);
+        result.reset(0);
+        for (int i = 0; i < 1000; i++) {
+            result.add(i);
+        }
+        assertEquals(999, result.getStake(999));
+
+        // A shorter session reuses the grown buffer
+        result.reset(5);
+        result.add(6);
+        result.add(4);
+        assertArrayEquals(new long[]{6, 4}, result.getStakes());
+        assertEquals(Arrays.asList(6L, 4L), result.toList());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stakesNotKept() {
+        SessionResult result = new SessionResult();
+        result.reset(5);
+        result.add(6);
+        result.getStakes();
+    }
+}
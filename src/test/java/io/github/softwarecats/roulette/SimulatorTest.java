@@ -16,6 +16,7 @@
 
 package io.github.softwarecats.roulette;
 
+import io.github.softwarecats.roulette.player.Martingale;
 import io.github.softwarecats.roulette.player.Passenger57;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,8 +25,11 @@ import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class SimulatorTest {
@@ -61,7 +65,7 @@ public class SimulatorTest {
 
     @Test
     public void session() {
-        List<Integer> sessionResult = null;
+        List<Long> sessionResult = null;
         try {
             sessionResult = simulator.session();
         } catch (InvalidBetException e) {
@@ -70,8 +74,8 @@ public class SimulatorTest {
 
         assertEquals(simulator.sessionDuration, sessionResult.size());
 
-        int expectedStake = simulator.initialStake;
-        for (int result : sessionResult) {
+        long expectedStake = simulator.initialStake;
+        for (long result : sessionResult) {
             Bin winningBin = wheel.getBin(rng.nextInt(38));
             boolean shouldWin = winningBin.contains(wheel.getOutcomes(Game.BET_NAMES.getString("black")).get(0));
 
@@ -92,10 +96,13 @@ public class SimulatorTest {
             int sessionCount = 1;
 
             @Override
-            public List<Integer> session() {
-                return IntStream.range(0, sessionCount++).boxed().collect(Collectors.toList());
+            public SessionResult session(SessionResult result) {
+                result.reset(initialStake);
+                IntStream.range(0, sessionCount++).forEach(result::add);
+                return result;
             }
         };
+        simulator.keepRawData = true;
 
         try {
             simulator.gather();
@@ -103,7 +110,7 @@ public class SimulatorTest {
             fail("Unit test for simulator.gather() is broken");
         }
 
-        assertEquals(IntStream.range(0, simulator.samples)
+        assertEquals(LongStream.range(0, simulator.samples)
                         .boxed()
                         .collect(Collectors.toList()),
                 simulator.maxima);
@@ -111,5 +118,85 @@ public class SimulatorTest {
                         .boxed()
                         .collect(Collectors.toList()),
                 simulator.durations);
+
+        assertEquals(IntegerStatistics.mean(simulator.durations), simulator.meanDuration, 1e-9);
+        assertEquals(IntegerStatistics.std(simulator.durations), simulator.stdDuration, 1e-9);
+        assertEquals(IntegerStatistics.mean(simulator.maxima), simulator.meanMaximum, 1e-9);
+        assertEquals(IntegerStatistics.std(simulator.maxima), simulator.stdMaximum, 1e-9);
+        assertEquals(simulator.samples / 2, simulator.getDurationHistogram().getMedian());
+        assertEquals(simulator.samples - 1, simulator.getMaximumHistogram().getMax());
+    }
+
+    @Test
+    public void gatherToTargetWidth() throws InvalidBetException {
+        simulator.samples = 100_000;
+        simulator.batchSamples = 50;
+        simulator.targetRelativeWidth = 0.01;
+        simulator.gather();
+
+        long count = simulator.getDurationStatistics().getCount();
+        assertTrue(simulator.converged);
+        assertTrue(count < simulator.samples);
+        assertEquals(0, count % simulator.batchSamples);
+        assertTrue(simulator.durationRelativeWidth <= 0.01);
+        assertTrue(simulator.maximumRelativeWidth <= 0.01);
+    }
+
+    @Test
+    public void gatherWithinTimeBudget() throws InvalidBetException {
+        simulator.samples = Integer.MAX_VALUE;
+        simulator.timeBudget = 200;
+        simulator.gather();
+
+        assertFalse(simulator.converged);
+        assertTrue(simulator.getDurationStatistics().getCount() < Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void gatherWithoutBatches() throws InvalidBetException {
+        // batchSamples only matters when gathering is adaptive
+        simulator.batchSamples = 0;
+        simulator.samples = 10;
+        simulator.gather();
+        assertEquals(10, simulator.getDurationStatistics().getCount());
+
+        simulator.timeBudget = 200;
+        try {
+            simulator.gather();
+            fail("Adaptive gathering needs a positive batchSamples");
+        } catch (IllegalArgumentException e) {
+            assertEquals(10, simulator.getDurationStatistics().getCount());
+        }
+    }
+
+    @Test
+    public void leaveAtLimit() throws InvalidBetException {
+        Table limited = new Table(wheel, 4, Game.TABLE_MINIMUM);
+        Martingale martingale = new Martingale(limited);
+        simulator = new Simulator(new Game(wheel, limited), martingale);
+        simulator.leaveAtLimit = true;
+
+        // Sessions go on until three losses in a row make a bet of 8, over the limit
+        SessionResult result = new SessionResult(true);
+        for (int i = 0; i < 20 && !result.isLeftAtLimit(); i++) {
+            simulator.session(result);
+        }
+        assertTrue(result.isLeftAtLimit());
+        assertEquals(result.getFinalStake(), martingale.stake);
+        assertEquals(0, limited.size());
+    }
+
+    @Test
+    public void gatherWithoutRawData() {
+        try {
+            simulator.gather();
+        } catch (InvalidBetException e) {
+            fail("Player is broken, should not place invalid bet");
+        }
+
+        assertEquals(0, simulator.durations.size());
+        assertEquals(0, simulator.maxima.size());
+        assertEquals(simulator.samples, simulator.getDurationStatistics().getCount());
+        assertEquals(simulator.samples, simulator.getMaximumStatistics().getCount());
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StrategyComparisonTest {
+
+    private StrategyComparison compare(boolean commonRandomNumbers, boolean antithetic) throws InvalidBetException {
+        StrategyComparison comparison = new StrategyComparison(WheelLayout.AMERICAN, 11, PlayerType.PASSENGER57,
+                PlayerType.MARTINGALE, PlayerType.FIBONACCI);
+        comparison.samples = 2000;
+        comparison.commonRandomNumbers = commonRandomNumbers;
+        comparison.antithetic = antithetic;
+        comparison.gather();
+        return comparison;
+    }
+
+    @Test
+    public void commonRandomNumbers() throws InvalidBetException {
+        StrategyComparison common = compare(true, false);
+        StrategyComparison independent = compare(false, false);
+
+        for (int s = 0; s < 3; s++) {
+            assertEquals(2000, common.getMaximumStatistics(s).getCount());
+        }
+        assertTrue(common.getMaximumReduction(2) > 2);
+        assertTrue(common.getMaximumDifferenceError(2) < independent.getMaximumDifferenceError(2));
+        assertEquals(1, independent.getMaximumReduction(2), 0.2);
+        assertEquals(1, common.getMaximumReduction(0), 1e-9);
+    }
+
+    @Test
+    public void antithetic() throws InvalidBetException {
+        StrategyComparison comparison = compare(true, true);
+
+        assertEquals(2000, comparison.getMaximumStatistics(0).getCount());
+        assertTrue(comparison.getMaximumReduction(0) > 1.5);
+        assertTrue(comparison.getMaximumReduction(2) > 1);
+    }
+
+    @Test
+    public void reproducible() throws InvalidBetException {
+        StrategyComparison one = compare(true, true);
+        StrategyComparison other = compare(true, true);
+
+        assertEquals(one.getMaximumDifference(1), other.getMaximumDifference(1), 0);
+        assertEquals(one.getDurationDifference(2), other.getDurationDifference(2), 0);
+    }
+}
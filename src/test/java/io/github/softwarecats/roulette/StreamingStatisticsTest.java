@@ -0,0 +1,79 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.softwarecats.roulette;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreamingStatisticsTest {
+
+    protected final List<Integer> DATA = List.of(9, 8, 5, 9, 9, 4, 5, 8, 10, 7, 8, 8);
+
+    @Test
+    public void add() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        for (int value : DATA) {
+            statistics.add(value);
+        }
+
+        assertEquals(12, statistics.getCount());
+        assertEquals(7.5, statistics.getMean(), 1e-9);
+        assertEquals(1.88293, statistics.getStd(), 0.00001);
+        assertEquals(4, statistics.getMin());
+        assertEquals(10, statistics.getMax());
+    }
+
+    @Test
+    public void combine() {
+        StreamingStatistics first = new StreamingStatistics();
+        StreamingStatistics second = new StreamingStatistics();
+        for (int i = 0; i < DATA.size(); i++) {
+            (i < 5 ? first : second).add(DATA.get(i));
+        }
+
+        StreamingStatistics combined = new StreamingStatistics().combine(first).combine(second);
+
+        assertEquals(12, combined.getCount());
+        assertEquals(IntegerStatistics.mean(DATA), combined.getMean(), 1e-9);
+        assertEquals(IntegerStatistics.std(DATA), combined.getStd(), 1e-9);
+        assertEquals(4, combined.getMin());
+        assertEquals(10, combined.getMax());
+    }
+
+    @Test
+    public void normalQuantile() {
+        assertEquals(0, StreamingStatistics.normalQuantile(0.5), 1e-9);
+        assertEquals(1.959963985, StreamingStatistics.normalQuantile(0.975), 1e-8);
+        assertEquals(-2.326347874, StreamingStatistics.normalQuantile(0.01), 1e-8);
+        assertEquals(3.090232306, StreamingStatistics.normalQuantile(0.999), 1e-8);
+    }
+
+    @Test
+    public void halfWidth() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getHalfWidth(0.95), 0);
+        for (int value : DATA) {
+            statistics.add(value);
+        }
+
+        double expected = 1.959963985 * IntegerStatistics.std(DATA) / Math.sqrt(DATA.size());
+        assertEquals(expected, statistics.getHalfWidth(0.95), 1e-8);
+    }
+}
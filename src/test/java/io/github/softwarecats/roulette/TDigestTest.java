@@ -0,0 +1,78 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TDigestTest {
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999};
+
+    @Test
+    public void quantiles() {
+        Random rng = new Random(7);
+        double[] values = new double[100_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rng.nextGaussian();
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, digest.getCount());
+        assertTrue(digest.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION);
+        assertEquals(values[0], digest.getQuantile(0), 0);
+        assertEquals(values[values.length - 1], digest.getQuantile(1), 0);
+        // The error of a t-digest is best measured in rank, and is smallest at the tails
+        for (double quantile : QUANTILES) {
+            int rank = Arrays.binarySearch(values, digest.getQuantile(quantile));
+            double estimated = (double) (rank < 0 ? -rank - 1 : rank) / values.length;
+            assertEquals(quantile, estimated, 0.01 * Math.sqrt(quantile * (1 - quantile)));
+        }
+    }
+
+    @Test
+    public void combine() {
+        Random rng = new Random(8);
+        double[] values = new double[60_000];
+        TDigest[] shards = {new TDigest(), new TDigest(), new TDigest()};
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rng.nextDouble() * 1000;
+            shards[i % 3].add(values[i]);
+        }
+        Arrays.sort(values);
+
+        TDigest combined = new TDigest().combine(shards[0]).combine(shards[1]).combine(shards[2]);
+        assertEquals(values.length, combined.getCount());
+        for (double quantile : QUANTILES) {
+            double exact = values[(int) (quantile * values.length)];
+            assertEquals(exact, combined.getQuantile(quantile), 5);
+        }
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(Double.isNaN(new TDigest().getQuantile(0.5)));
+    }
+}
@@ -17,6 +17,10 @@
 package io.github.softwarecats.roulette;
 
 import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.player.Player;
+import io.github.softwarecats.roulette.player.PlayerFactory;
+import io.github.softwarecats.roulette.player.PlayerType;
+import io.github.softwarecats.roulette.random.RandomSourceType;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -24,6 +28,7 @@ import java.util.List;
 import java.util.ListIterator;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 public class TableTest {
@@ -49,4 +54,145 @@ public class TableTest {
 
         assertArrayEquals(bets.toArray(), List.of(bet1, bet2).toArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void placeBetOverLimit() throws InvalidBetException {
+        Table table = new Table(new Wheel(), 10, 1);
+        table.placeBet(new Bet(6, new Outcome("Name 1", 1)));
+        table.placeBet(new Bet(4, new Outcome("Name 2", 1)));
+        assertEquals(10, table.getTotal());
+
+        try {
+            table.placeBet(new Bet(1, new Outcome("Name 3", 1)));
+            fail("Bet over the table limit should be rejected");
+        } catch (InvalidBetException e) {
+            assertEquals(2, table.size());
+            assertEquals(10, table.getTotal());
+        }
+    }
+
+    @Test
+    public void placeBetUnderMinimum() {
+        Wheel wheel = new Wheel();
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel, 100, 5);
+        Player player = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        player.stake = 10;
+
+        try {
+            table.placeBet(new Bet(4, wheel.getOutcome("Red"), player));
+            fail("Bet under the table minimum should be rejected");
+        } catch (InvalidBetException e) {
+            assertEquals(0, table.size());
+            assertEquals(10, player.stake);
+        }
+    }
+
+    @Test
+    public void runningTotal() throws InvalidBetException {
+        Table table = new Table(new Wheel(), 10, 1);
+        table.placeBet(new Bet(6, new Outcome("Name 1", 1)));
+        table.placeBet(new Bet(4, new Outcome("Name 2", 1)));
+
+        ListIterator<Bet> it = table.iterator();
+        it.next();
+        it.remove();
+        assertEquals(4, table.getTotal());
+
+        table.placeBet(new Bet(6, new Outcome("Name 3", 1)));
+        assertEquals(10, table.getTotal());
+
+        table.clear();
+        assertEquals(0, table.getTotal());
+        table.validate();
+    }
+
+    @Test
+    public void limitPerPlayer() throws InvalidBetException {
+        Wheel wheel = new Wheel();
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel, 10, 1);
+        Player first = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        Player second = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        first.stake = 20;
+        second.stake = 20;
+
+        table.placeBet(new Bet(8, wheel.getOutcome("Red"), first));
+        table.placeBet(new Bet(8, wheel.getOutcome("Red"), second));
+        assertEquals(8, table.getTotal(first));
+        assertEquals(16, table.getTotal());
+
+        try {
+            table.placeBet(new Bet(4, wheel.getOutcome("Black"), first));
+            fail("Bet over the player's table limit should be rejected");
+        } catch (InvalidBetException e) {
+            assertEquals(8, table.getTotal(first));
+        }
+        table.placeBet(new Bet(2, wheel.getOutcome("Black"), second));
+        assertEquals(10, table.getTotal(second));
+        table.validate();
+    }
+
+    @Test
+    public void validateChangedBets() throws InvalidBetException {
+        Table table = new Table(new Wheel(), 10, 1);
+        Player first = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        Player second = PlayerFactory.getPlayer(PlayerType.PASSENGER57, table);
+        first.stake = 100;
+        second.stake = 100;
+        Bet changed = new Bet(4, new Outcome("Name 1", 1), first);
+        table.placeBet(changed);
+        table.placeBet(new Bet(6, new Outcome("Name 2", 1), first));
+        table.placeBet(new Bet(10, new Outcome("Name 3", 1), second));
+
+        // Raising a bet where it lies takes the first player over the limit
+        changed.amountBet = 5;
+        try {
+            table.validate();
+            fail("Bets over the player's table limit should be invalid");
+        } catch (InvalidBetException e) {
+            assertEquals(11, table.getTotal(first));
+            assertEquals(21, table.getTotal());
+        }
+
+        changed.amountBet = 4;
+        table.validate();
+        assertEquals(10, table.getTotal(first));
+        assertEquals(10, table.getTotal(second));
+    }
+
+    @Test
+    public void payouts() throws InvalidBetException {
+        Wheel wheel = new Wheel(WheelLayout.AMERICAN, RandomSourceType.SPLITTABLE.create(1));
+        Outcome straight = wheel.getOutcome("1");
+        Table standard = new Table(wheel);
+        Table stingy = new Table(wheel, Game.TABLE_LIMIT, Game.TABLE_MINIMUM,
+                PayoutSchedule.STANDARD.withOdds(OutcomeCategory.STRAIGHT, 34));
+
+        Bet bet = new Bet(10, straight);
+        standard.placeBet(bet);
+        assertEquals(360, bet.winAmount());
+
+        // The same bet placed again on another table is paid that table's odds
+        stingy.placeBet(bet);
+        assertEquals(350, bet.winAmount());
+        assertEquals(34, stingy.getPayouts().getOdds(OutcomeCategory.STRAIGHT));
+    }
+
+    @Test
+    public void layoutOddsByDefault() throws InvalidBetException {
+        // A layout whose straight bet on zero pays 40 to 1
+        WheelLayout layout = new WheelLayout(37);
+        Outcome lucky = new Outcome("Lucky", 40);
+        layout.addOutcome(0, "Lucky", OutcomeCategory.STRAIGHT, lucky);
+        Wheel wheel = new Wheel(layout.freeze(), RandomSourceType.SPLITTABLE.create(1));
+
+        Bet bet = new Bet(10, lucky);
+        new Table(wheel).placeBet(bet);
+        assertEquals(410, bet.winAmount());
+
+        // The standard schedule has to be asked for
+        new Table(wheel, Game.TABLE_LIMIT, Game.TABLE_MINIMUM, PayoutSchedule.STANDARD).placeBet(bet);
+        assertEquals(360, bet.winAmount());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette;
+
+import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.random.RandomSourceType;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WheelLayoutTest {
+
+    @Test
+    public void prebuilt() {
+        assertEquals(38, WheelLayout.AMERICAN.size());
+        assertEquals(37, WheelLayout.EUROPEAN.size());
+        assertEquals(37, WheelLayout.FRENCH.size());
+
+        assertTrue(WheelLayout.AMERICAN.isFrozen());
+        assertTrue(WheelLayout.EUROPEAN.isFrozen());
+        assertTrue(WheelLayout.FRENCH.isFrozen());
+    }
+
+    @Test
+    public void americanMatchesBinBuilder() {
+        Wheel wheel = new Wheel();
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+
+        for (int i = 0; i < 38; i++) {
+            assertEquals(wheel.getBin(i), WheelLayout.AMERICAN.getBin(i));
+        }
+        assertEquals(wheel.getAllOutcomes(), WheelLayout.AMERICAN.getAllOutcomes());
+    }
+
+    @Test
+    public void european() {
+        WheelLayout layout = WheelLayout.EUROPEAN;
+
+        assertFalse(layout.hasDoubleZero());
+        assertNull(layout.getOutcomeRegistry().getOutcome("00"));
+        assertEquals(0, layout.getOutcomeRegistry().getOutcomes(OutcomeCategory.FIVE).size());
+        assertEquals(37, layout.getOutcomeRegistry().getOutcomes(OutcomeCategory.STRAIGHT).size());
+
+        int black = layout.getOutcomeId(layout.getOutcome(Game.BET_NAMES.getString("black")));
+        assertEquals(18, Long.bitCount(layout.getBinMask(black)));
+    }
+
+    @Test
+    public void laPartage() {
+        int black = WheelLayout.FRENCH.getOutcomeId(WheelLayout.FRENCH.getOutcome(Game.BET_NAMES.getString("black")));
+        int zero = WheelLayout.FRENCH.getOutcomeId(WheelLayout.FRENCH.getOutcome("0"));
+
+        assertTrue(WheelLayout.FRENCH.isLaPartage(black, 0));
+        assertFalse(WheelLayout.FRENCH.isLaPartage(black, 2));
+        assertFalse(WheelLayout.FRENCH.isLaPartage(zero, 0));
+        assertFalse(WheelLayout.EUROPEAN.isLaPartage(black, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozenLayout() {
+        WheelLayout.AMERICAN.addOutcome(1, new Outcome("Name", 1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void frozenBin() {
+        WheelLayout.AMERICAN.getBin(1).add(new Outcome("Name", 1));
+    }
+
+    @Test
+    public void frozenBinRemovals() {
+        Bin bin = WheelLayout.AMERICAN.getBin(1);
+        int size = bin.size();
+        Outcome outcome = bin.iterator().next();
+        List<Runnable> mutators = List.of(
+                () -> bin.remove(outcome),
+                () -> bin.removeAll(List.of(outcome)),
+                () -> bin.retainAll(List.of(outcome)),
+                () -> bin.removeIf(o -> true),
+                bin::clear,
+                () -> {
+                    Iterator<Outcome> outcomes = bin.iterator();
+                    outcomes.next();
+                    outcomes.remove();
+                });
+
+        for (Runnable mutator : mutators) {
+            try {
+                mutator.run();
+                fail("Frozen bin was changed");
+            } catch (UnsupportedOperationException e) {
+                assertEquals(size, bin.size());
+            }
+        }
+    }
+
+    @Test
+    public void shared() {
+        Wheel first = new Wheel(WheelLayout.EUROPEAN, RandomSourceType.SPLITTABLE.create(1));
+        Wheel second = new Wheel(WheelLayout.EUROPEAN, RandomSourceType.SPLITTABLE.create(2));
+
+        assertSame(first.getBin(5), second.getBin(5));
+        assertEquals(37, first.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(first.nextBin() < 37);
+        }
+    }
+
+    @Test
+    public void antitheticBins() {
+        WheelLayout layout = WheelLayout.AMERICAN;
+        int[] antithetic = layout.getAntitheticBins();
+        assertEquals(0, antithetic[0]);
+        assertEquals(37, antithetic[37]);
+
+        for (int bin = 1; bin <= 36; bin++) {
+            assertEquals(bin, antithetic[antithetic[bin]]);
+            for (Outcome outcome : layout.getOutcomeRegistry().getOutcomes(OutcomeCategory.EVEN_MONEY)) {
+                int id = layout.getOutcomeId(outcome);
+                assertNotEquals(layout.isWinner(id, bin), layout.isWinner(id, antithetic[bin]));
+            }
+        }
+    }
+}
@@ -17,12 +17,17 @@
 package io.github.softwarecats.roulette;
 
 import io.github.softwarecats.casino.event.Outcome;
+import io.github.softwarecats.roulette.random.RandomSourceType;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class WheelTest {
 
@@ -58,5 +63,100 @@ public class WheelTest {
         builder.buildBins(wheel);
 
         assertEquals(wheel.getOutcomes("Line").size(), 11);
+        assertSame(wheel.getOutcomes("Line"), wheel.getOutcomes("Line"));
     }
-}
\ No newline at end of file
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getOutcomesIsImmutable() {
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+
+        wheel.getOutcomes("Line").clear();
+    }
+
+    @Test
+    public void getOutcomesAfterAdd() {
+        assertEquals(0, wheel.getOutcomes("Name").size());
+
+        wheel.addOutcome(1, new Outcome("Name", 1));
+        assertEquals(1, wheel.getOutcomes("Name").size());
+    }
+
+    @Test
+    public void getOutcome() {
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+
+        assertEquals(wheel.getOutcomes("Black").get(0), wheel.getOutcome("Black"));
+        assertEquals(new Outcome("1", Game.STRAIGHT_BET_PAYOUT), wheel.getOutcome("1"));
+        assertEquals(11, wheel.getOutcomesStartingWith("Line").size());
+        assertEquals(3, wheel.getOutcomesStartingWith("Column").size());
+        assertNull(wheel.getOutcome("Nothing"));
+    }
+
+    @Test
+    public void isWinner() {
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+
+        for (Outcome outcome : wheel.getAllOutcomes().values()) {
+            int id = wheel.getOutcomeId(outcome);
+            for (int i = 0; i < 38; i++) {
+                assertEquals(wheel.getBin(i).contains(outcome), wheel.isWinner(id, i));
+            }
+        }
+
+        assertEquals(-1, wheel.getOutcomeId(new Outcome("Name", 1)));
+        assertFalse(wheel.isWinner(-1, 0));
+    }
+
+    @Test
+    public void nextBins() {
+        for (WheelLayout layout : new WheelLayout[]{WheelLayout.AMERICAN, WheelLayout.EUROPEAN}) {
+            Wheel wheel = new Wheel(layout, RandomSourceType.SPLITTABLE.create(9));
+            int[] bins = new int[layout.size() * 10_000];
+            wheel.nextBins(bins);
+
+            // Every bin comes up about as often as it should: a chi-squared test at the 0.1% level
+            int[] counts = new int[layout.size()];
+            for (int bin : bins) {
+                counts[bin]++;
+            }
+            double chiSquared = 0;
+            for (int count : counts) {
+                chiSquared += (count - 10_000.0) * (count - 10_000.0) / 10_000.0;
+            }
+            assertTrue(chiSquared < 69.3);
+
+            // Consecutive spins taken from the same long are independent
+            int[][] pairs = new int[layout.size()][layout.size()];
+            for (int i = 0; i + 1 < bins.length; i += 2) {
+                pairs[bins[i]][bins[i + 1]]++;
+            }
+            double expected = bins.length / 2.0 / layout.size() / layout.size();
+            chiSquared = 0;
+            for (int[] row : pairs) {
+                for (int count : row) {
+                    chiSquared += (count - expected) * (count - expected) / expected;
+                }
+            }
+            int freedom = layout.size() * layout.size() - 1;
+            assertTrue(chiSquared < freedom + 4 * Math.sqrt(2 * freedom));
+        }
+    }
+
+    @Test
+    public void nextBinsBytes() {
+        Wheel wheel = new Wheel(WheelLayout.AMERICAN, RandomSourceType.SPLITTABLE.create(9));
+        Wheel same = new Wheel(WheelLayout.AMERICAN, RandomSourceType.SPLITTABLE.create(9));
+        byte[] bytes = new byte[100];
+        int[] ints = new int[110];
+        wheel.nextBins(bytes, 0, bytes.length);
+        same.nextBins(ints, 10, 100);
+
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(ints[10 + i], bytes[i]);
+        }
+        assertEquals(0, ints[0]);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.analysis;
+
+import io.github.softwarecats.roulette.BinBuilder;
+import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.ParallelSimulator;
+import io.github.softwarecats.roulette.Wheel;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MarkovAnalyzerTest {
+
+    private Wheel wheel;
+
+    @Before
+    public void setUp() {
+        wheel = new Wheel();
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(wheel);
+    }
+
+    private MarkovAnalyzer analyse(PlayerType type, int duration, int stake) {
+        MarkovAnalyzer analyzer = new MarkovAnalyzer(StrategyChain.of(type, wheel));
+        analyzer.sessionDuration = duration;
+        analyzer.initialStake = stake;
+        analyzer.analyse();
+        return analyzer;
+    }
+
+    @Test
+    public void passenger57() {
+        double win = 18.0 / 38;
+
+        // One bet of the whole stake: win to 2, or lose to 0 and be ruined
+        MarkovAnalyzer analyzer = analyse(PlayerType.PASSENGER57, 2, 1);
+        assertEquals(1 + win, analyzer.expectedDuration, 1e-12);
+        assertEquals(1 - win, analyzer.ruinProbability, 1e-12);
+        assertEquals(1 - win, analyzer.maximumDistribution[0], 1e-12);
+        assertEquals(win * (1 - win), analyzer.maximumDistribution[2], 1e-12);
+        assertEquals(win * win, analyzer.maximumDistribution[3], 1e-12);
+    }
+
+    @Test
+    public void notPlaying() {
+        MarkovAnalyzer analyzer = analyse(PlayerType.MARTINGALE, 10, 0);
+        assertEquals(0, analyzer.expectedDuration, 0);
+        assertEquals(1, analyzer.ruinProbability, 0);
+        assertEquals(0, analyzer.expectedMaximum, 0);
+    }
+
+    @Test
+    public void distributionSumsToOne() {
+        for (PlayerType type : new PlayerType[]{PlayerType.MARTINGALE, PlayerType.FIBONACCI,
+                PlayerType.ONE_THREE_TWO_SIX, PlayerType.SEVEN_REDS}) {
+            MarkovAnalyzer analyzer = analyse(type, 40, 20);
+
+            double total = 0;
+            for (double p : analyzer.maximumDistribution) {
+                total += p;
+            }
+            assertEquals(type.toString(), 1, total, 1e-9);
+            assertTrue(analyzer.expectedDuration <= 40);
+        }
+    }
+
+    @Test
+    public void agreesWithSimulator() {
+        for (PlayerType type : new PlayerType[]{PlayerType.PASSENGER57, PlayerType.MARTINGALE,
+                PlayerType.FIBONACCI, PlayerType.ONE_THREE_TWO_SIX, PlayerType.SEVEN_REDS}) {
+            MarkovAnalyzer analyzer = analyse(type, 50, 20);
+
+            ParallelSimulator simulator = new ParallelSimulator(type, 7);
+            simulator.sessionDuration = 50;
+            simulator.initialStake = 20;
+            simulator.samples = 20000;
+            try {
+                simulator.gather();
+            } catch (InvalidBetException e) {
+                fail("Player is broken, should not place invalid bet");
+            }
+
+            double n = Math.sqrt(simulator.samples);
+            assertEquals(type.toString(), analyzer.expectedDuration, simulator.meanDuration,
+                    5 * analyzer.stdDuration / n);
+            assertEquals(type.toString(), analyzer.expectedMaximum, simulator.meanMaximum,
+                    5 * analyzer.stdMaximum / n);
+            assertEquals(type.toString(), analyzer.stdDuration, simulator.stdDuration,
+                    0.1 * analyzer.stdDuration + 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cancellationIsRejected() {
+        StrategyChain.of(PlayerType.CANCELLATION, wheel);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.metrics;
+
+import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.ParallelSimulator;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationMetricsTest {
+
+    @Test
+    public void countsSessions() throws InvalidBetException {
+        SimulationMetrics metrics = new SimulationMetrics();
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.samples = 500;
+        simulator.blockSize = 64;
+        simulator.parallelism = 4;
+        simulator.metrics = metrics;
+        simulator.gather();
+
+        long count = simulator.getDurationStatistics().getCount();
+        assertEquals(count, metrics.getSessions());
+        assertEquals(Math.round(simulator.meanDuration * count), metrics.getSpins());
+        assertEquals(simulator.meanDuration, metrics.getAverageRounds(), 1e-9);
+        assertEquals(simulator.meanDuration, metrics.getAverageRoundsByStrategy().get("Martingale"), 1e-9);
+        assertEquals(0, metrics.getPendingBlocks());
+    }
+
+    @Test
+    public void register() throws JMException {
+        SimulationMetrics metrics = new SimulationMetrics();
+        metrics.sessionCompleted("Passenger57", 250);
+        metrics.register("registerTest");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(250L, server.getAttribute(metrics.getObjectName(), "Spins"));
+            assertEquals(1L, server.getAttribute(metrics.getObjectName(), "Sessions"));
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(server.queryNames(null, null).stream()
+                .anyMatch(name -> name.toString().contains("registerTest")));
+    }
+
+    @Test
+    public void reportCsv() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MetricsReporter reporter = new MetricsReporter(metrics, new PrintStream(bytes, true), true);
+
+        metrics.sessionCompleted("Fibonacci", 10);
+        reporter.report();
+        metrics.sessionCompleted("Fibonacci", 30);
+        reporter.report();
+
+        String[] lines = new String(bytes.toByteArray(), StandardCharsets.UTF_8).split("\\R");
+        assertEquals(3, lines.length);
+        assertEquals(MetricsReporter.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].matches("[0-9.]+,10,1,.*"));
+        assertTrue(lines[2].matches("[0-9.]+,40,2,[0-9.E]+,[0-9.E]+,20\\.000,0,.*"));
+    }
+}
@@ -455,6 +455,28 @@ public class CancellationTest {
         assertEquals(6, player.sequence.size());
     }
 
+    @Test
+    public void longSequence() {
+        Cancellation.Sequence sequence = player.sequence;
+
+        // Move the head around the ring, then outgrow it
+        for (int i = 0; i < 5; i++) {
+            sequence.pollFirst();
+        }
+        for (long amount = 7; amount <= 100; amount++) {
+            sequence.addLast(amount);
+        }
+        assertEquals(95, sequence.size());
+        assertEquals(6, sequence.peekFirst());
+        assertEquals(100, sequence.peekLast());
+        assertEquals(106, player.calcBetAmount());
+
+        sequence.pollFirst();
+        sequence.pollLast();
+        assertEquals(7, sequence.peekFirst());
+        assertEquals(99, sequence.peekLast());
+    }
+
     protected List<Bet> getBets() {
         List<Bet> bets = new ArrayList<>();
         for (ListIterator<Bet> it = table.iterator(); it.hasNext(); ) {
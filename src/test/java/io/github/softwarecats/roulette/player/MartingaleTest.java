@@ -103,4 +103,29 @@ public class MartingaleTest {
             it.remove();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void longLosingStreak() throws InvalidBetException {
+        // Past 31 losses the bet no longer fits in an int, and past 63 the progression saturates
+        Table unlimited = new Table(wheel, Long.MAX_VALUE, Game.TABLE_MINIMUM);
+        Martingale martingale = new Martingale(unlimited);
+        martingale.stake = Long.MAX_VALUE;
+        martingale.roundsToGo = 100;
+        for (int i = 0; i < 40; i++) {
+            martingale.lose(new Bet(1, new Outcome("Name", 1)));
+        }
+        assertTrue(martingale.playing());
+        martingale.placeBets();
+        assertEquals(1L << 40, unlimited.getTotal());
+
+        for (int i = 0; i < 30; i++) {
+            martingale.lose(new Bet(1, new Outcome("Name", 1)));
+        }
+        assertEquals(Long.MAX_VALUE, martingale.betMultiple);
+        assertFalse(martingale.playing());
+
+        // A saturated bet could not be paid out, so it is not placed even from the largest stake
+        martingale.stake = Long.MAX_VALUE;
+        assertFalse(martingale.playing());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RandomSourceTest {
+
+    @Test
+    public void reproducible() {
+        for (RandomSourceType type : RandomSourceType.values()) {
+            RandomSource first = type.create(1);
+            RandomSource second = type.create(1);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(first.nextLong(), second.nextLong());
+            }
+        }
+    }
+
+    @Test
+    public void nextInt() {
+        for (RandomSourceType type : RandomSourceType.values()) {
+            RandomSource rng = type.create(1);
+
+            int[] counts = new int[38];
+            for (int i = 0; i < 380_000; i++) {
+                counts[rng.nextInt(38)]++;
+            }
+
+            // Each bin is expected 10000 times, with a standard deviation just under 100
+            for (int count : counts) {
+                assertTrue(type + " drew a bin " + count + " times", Math.abs(count - 10_000) < 500);
+            }
+        }
+    }
+
+    @Test
+    public void split() {
+        for (RandomSourceType type : RandomSourceType.values()) {
+            RandomSource rng = type.create(1);
+            RandomSource split = rng.split();
+
+            int same = 0;
+            for (int i = 0; i < 1000; i++) {
+                if (rng.nextLong() == split.nextLong()) {
+                    same++;
+                }
+            }
+            assertEquals(type + " split into an identical stream", 0, same);
+        }
+    }
+
+    @Test
+    public void xoshiro256PlusPlus() {
+        // The first output is rotl(s0 + s3, 23) + s0
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        assertEquals((5L << 23) + 1, rng.nextLong());
+    }
+
+    @Test
+    public void xoshiro256PlusPlusJump() {
+        // A split takes the current state, so it produces exactly what the original would have produced
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1);
+        Xoshiro256PlusPlus copy = new Xoshiro256PlusPlus(1);
+
+        RandomSource split = rng.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(copy.nextLong(), split.nextLong());
+        }
+    }
+
+    @Test
+    public void tilted() {
+        double[] probabilities = {0.5, 0.25, 0.25};
+        TiltedRandomSource rng = new TiltedRandomSource(RandomSourceType.SPLITTABLE.create(1), probabilities);
+
+        // Values are drawn with the tilted probabilities, and each weighs its uniform probability over them
+        int[] counts = new int[3];
+        double expected = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int value = rng.nextInt(3);
+            counts[value]++;
+            expected -= Math.log(probabilities[value] * 3);
+        }
+        assertEquals(50_000, counts[0], 1000);
+        assertEquals(25_000, counts[1], 1000);
+        assertEquals(expected, rng.getLogLikelihoodRatio(), 1e-6 * Math.abs(expected));
+
+        // Other bounds are not tilted and do not change the ratio
+        rng.resetLikelihoodRatio();
+        rng.nextInt(5);
+        assertEquals(1, rng.getLikelihoodRatio(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tiltedWithoutSomeValue() {
+        new TiltedRandomSource(RandomSourceType.SPLITTABLE.create(1), new double[]{1, 0});
+    }
+}
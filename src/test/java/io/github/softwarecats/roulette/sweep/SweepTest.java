@@ -0,0 +1,92 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.sweep;
+
+import io.github.softwarecats.roulette.WheelLayout;
+import io.github.softwarecats.roulette.player.PlayerType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SweepTest {
+
+    private SweepGrid grid() {
+        SweepGrid grid = new SweepGrid();
+        grid.playerTypes.addAll(Arrays.asList(PlayerType.MARTINGALE, PlayerType.RANDOM_CHOICE));
+        grid.layouts.add(WheelLayout.FRENCH);
+        grid.initialStakes = new long[]{50, 100};
+        grid.sessionDurations = new int[]{100, 250};
+        grid.tableLimits = new long[]{10, Integer.MAX_VALUE};
+        grid.samples = 50;
+        grid.seed = 3;
+        return grid;
+    }
+
+    @Test
+    public void cells() {
+        SweepGrid grid = grid();
+        assertEquals(32, grid.size());
+
+        int cell = 16 + 8 + 4 + 1;
+        assertEquals(PlayerType.RANDOM_CHOICE, grid.getPlayerType(cell));
+        assertEquals(WheelLayout.FRENCH, grid.getLayout(cell));
+        assertEquals(100, grid.getInitialStake(cell));
+        assertEquals(100, grid.getSessionDuration(cell));
+        assertEquals(Integer.MAX_VALUE, grid.getTableLimit(cell));
+    }
+
+    @Test
+    public void runIsReproducible() throws IOException {
+        Sweep single = new Sweep(grid());
+        single.parallelism = 1;
+        Sweep several = new Sweep(grid());
+        several.parallelism = 4;
+
+        StringWriter one = new StringWriter();
+        single.run().writeCsv(one);
+        StringWriter other = new StringWriter();
+        several.run().writeCsv(other);
+
+        assertEquals(one.toString(), other.toString());
+        String[] rows = one.toString().split("\n");
+        assertEquals(33, rows.length);
+        assertEquals(SweepResults.CSV_HEADER, rows[0]);
+        assertTrue(rows[1].startsWith("MARTINGALE,AMERICAN,50,100,10,50,"));
+    }
+
+    @Test
+    public void tableLimit() {
+        SweepResults results = new Sweep(grid()).run();
+        SweepGrid grid = results.getGrid();
+
+        for (int cell = 0; cell < results.size(); cell++) {
+            if (grid.getTableLimit(cell) == Integer.MAX_VALUE) {
+                assertEquals(0, results.getLeftAtLimit(cell), 0);
+            } else if (grid.getPlayerType(cell) == PlayerType.MARTINGALE) {
+                // Four losses in a row make a bet of 16, over the limit of 10
+                assertTrue(results.getLeftAtLimit(cell) > 0);
+            }
+            assertTrue(results.getMeanDuration(cell) <= grid.getSessionDuration(cell));
+        }
+    }
+}
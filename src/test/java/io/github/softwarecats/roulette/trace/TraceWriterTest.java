@@ -0,0 +1,157 @@
+/*
+ * Copyright © Bowen Wu 2021.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.github.softwarecats.roulette.trace;
+
+import io.github.softwarecats.roulette.BinBuilder;
+import io.github.softwarecats.roulette.Game;
+import io.github.softwarecats.roulette.InvalidBetException;
+import io.github.softwarecats.roulette.Simulator;
+import io.github.softwarecats.roulette.Table;
+import io.github.softwarecats.roulette.Wheel;
+import io.github.softwarecats.roulette.player.Passenger57;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraceWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("run.trace");
+        Random rng = new Random(3);
+        int[][] spins = new int[1000][];
+
+        // A small block size so that the spins span several blocks, with stakes rising and falling
+        try (TraceWriter writer = new TraceWriter(path, 64)) {
+            int session = -1;
+            for (int i = 0; i < spins.length; i++) {
+                if (i % 150 == 0) {
+                    session = writer.startSession();
+                }
+                spins[i] = new int[]{session, rng.nextInt(100000) - 1000, rng.nextInt(500), rng.nextInt(160) - 1,
+                        rng.nextInt(38)};
+                writer.record(spins[i][1], spins[i][2], spins[i][3], spins[i][4]);
+            }
+            assertEquals(spins.length, writer.getSpins());
+        }
+
+        try (TraceReader reader = new TraceReader(path)) {
+            assertEquals(64, reader.getBlockSize());
+            int i = 0;
+            while (reader.nextBlock()) {
+                assertTrue(reader.size() <= 64);
+                for (int j = 0; j < reader.size(); j++, i++) {
+                    assertEquals(spins[i][0], reader.getSession(j));
+                    assertEquals(spins[i][1], reader.getStake(j));
+                    assertEquals(spins[i][2], reader.getBetAmount(j));
+                    assertEquals(spins[i][3], reader.getOutcomeId(j));
+                    assertEquals(spins[i][4], reader.getBin(j));
+                }
+            }
+            assertEquals(spins.length, i);
+            assertFalse(reader.nextBlock());
+        }
+    }
+
+    @Test
+    public void largerThanWindow() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("large.trace");
+        Random rng = new Random(5);
+
+        // Random stakes and bets hardly compress, so the trace outgrows the regions TraceReader maps at a time
+        long stakes = 0;
+        int spins = 0;
+        try (TraceWriter writer = new TraceWriter(path)) {
+            writer.startSession();
+            while (spins < 4_000_000) {
+                long stake = rng.nextLong();
+                writer.record(stake, rng.nextLong(), 0, spins % 38);
+                stakes += stake;
+                spins++;
+            }
+        }
+        assertTrue(Files.size(path) > TraceReader.WINDOW);
+
+        long read = 0;
+        int count = 0;
+        try (TraceReader reader = new TraceReader(path)) {
+            while (reader.nextBlock()) {
+                for (int j = 0; j < reader.size(); j++, count++) {
+                    read += reader.getStake(j);
+                    assertEquals(count % 38, reader.getBin(j));
+                }
+            }
+        }
+        assertEquals(spins, count);
+        assertEquals(stakes, read);
+    }
+
+    @Test(expected = IOException.class)
+    public void notATrace() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("other.trace");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+        new TraceReader(path).close();
+    }
+
+    @Test
+    public void simulatorTrace() throws IOException, InvalidBetException {
+        Wheel wheel = new Wheel(new Random(1));
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel);
+        Game game = new Game(wheel, table);
+        Simulator simulator = new Simulator(game, new Passenger57(table));
+        simulator.sessionDuration = 20;
+
+        Path path = folder.getRoot().toPath().resolve("simulator.trace");
+        List<List<Long>> sessions = new ArrayList<>();
+        try (TraceWriter writer = new TraceWriter(path, 16)) {
+            simulator.trace = writer;
+            for (int i = 0; i < 3; i++) {
+                sessions.add(simulator.session());
+            }
+        }
+
+        List<List<Long>> traced = new ArrayList<>();
+        try (TraceReader reader = new TraceReader(path)) {
+            reader.forEach((session, stake, betAmount, outcomeId, bin) -> {
+                if (session == traced.size()) {
+                    traced.add(new ArrayList<>());
+                }
+                traced.get(session).add(stake);
+                assertEquals(Game.TABLE_MINIMUM, betAmount);
+                assertEquals(wheel.getOutcomeId(wheel.getOutcome(Game.BET_NAMES.getString("black"))), outcomeId);
+                assertTrue(bin >= 0 && bin < wheel.size());
+            });
+        }
+        assertEquals(sessions, traced);
+    }
+}